@@ -2,8 +2,10 @@ package com.readcircle;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ReadCircleApplication {
     public static void main(String[] args) {
         SpringApplication.run(ReadCircleApplication.class, args);
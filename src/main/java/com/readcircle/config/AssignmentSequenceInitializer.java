@@ -0,0 +1,41 @@
+package com.readcircle.config;
+
+import com.readcircle.model.Assignment;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// assignments.id eskiden IDENTITY ile üretiliyordu. Sekansa geçişte mevcut veritabanlarında
+// sekans 1'den başlayacağı için, uygulama istek almadan önce sekansı MAX(id)'nin ötesine taşır.
+@Component
+public class AssignmentSequenceInitializer {
+
+    private static final String SEQUENCE_NAME = "assignments_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AssignmentSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM assignments", Long.class);
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME), Long.class);
+
+        // Havuzlu optimizer sekans değerini bloğun üst sınırı kabul eder: [next - 49, next]
+        if (maxId != null && next != null && next - Assignment.ID_ALLOCATION_SIZE < maxId) {
+            long restartWith = maxId + Assignment.ID_ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE_NAME + " RESTART WITH " + restartWith);
+        }
+    }
+}
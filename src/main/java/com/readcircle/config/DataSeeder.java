@@ -3,32 +3,110 @@ package com.readcircle.config;
 import com.readcircle.model.Resource;
 import com.readcircle.model.ResourceTranslation;
 import com.readcircle.model.ResourceType;
+import com.readcircle.model.SeedManifest;
 import com.readcircle.repository.ResourceRepository;
+import com.readcircle.repository.ResourceTranslationRepository;
+import com.readcircle.repository.SeedManifestRepository;
+import com.readcircle.service.InvalidationBus;
+import com.readcircle.service.ResourceCatalogService;
+import com.readcircle.service.ResourceContentService;
 import com.readcircle.service.ResourceLoaderService;
+import com.readcircle.service.TextStoreService;
 import com.readcircle.util.Constants;
+import com.readcircle.util.Hashing;
+import com.readcircle.util.MergedText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Component
 public class DataSeeder implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    // Dosyalar ve tariflerdeki sabit metinler özete zaten girer; sadece metni üreten kod (birleştirme mantığı,
+    // render) değiştiğinde bu sürüm artırılmalı.
+    private static final int SEEDER_VERSION = 1;
+
+    private static final String[] LANGUAGES = {"tr", "en", "ku", "fr", "ar"};
+
     private final ResourceRepository resourceRepository;
+    private final SeedManifestRepository seedManifestRepository;
+    private final ResourceTranslationRepository translationRepository;
     private final ResourceLoaderService resourceLoaderService;
+    private final ResourceContentService resourceContentService;
+    private final ResourceCatalogService resourceCatalogService;
+    private final TextStoreService textStore;
+    private final InvalidationBus invalidationBus;
+
+    // false ise metin gövdeleri sadece metin deposunda tutulur, veritabanında yalnızca özet kalır
+    private final boolean keepDbBodies;
+
+    // Bu çalıştırmada okunan manifest (codeKey -> checksum) ve sayaçlar
+    private Map<String, String> manifest = Map.of();
+    private int seededCount;
+    private int skippedCount;
 
-    public DataSeeder(ResourceRepository resourceRepository, ResourceLoaderService resourceLoaderService) {
+    public DataSeeder(ResourceRepository resourceRepository, SeedManifestRepository seedManifestRepository,
+                      ResourceTranslationRepository translationRepository,
+                      ResourceLoaderService resourceLoaderService, ResourceContentService resourceContentService,
+                      ResourceCatalogService resourceCatalogService, TextStoreService textStore,
+                      InvalidationBus invalidationBus,
+                      @Value("${app.text-store.keep-db-bodies:true}") boolean keepDbBodies) {
         this.resourceRepository = resourceRepository;
+        this.seedManifestRepository = seedManifestRepository;
+        this.translationRepository = translationRepository;
         this.resourceLoaderService = resourceLoaderService;
+        this.resourceContentService = resourceContentService;
+        this.resourceCatalogService = resourceCatalogService;
+        this.textStore = textStore;
+        this.invalidationBus = invalidationBus;
+        this.keepDbBodies = keepDbBodies;
     }
 
     @Override
     @Transactional
     public void run(String... args) throws Exception {
+        long start = System.nanoTime();
+
+        // Değişmemiş kaynaklar bu tek sorgunun sonucuyla atlanır
+        manifest = new HashMap<>();
+        for (SeedManifest entry : seedManifestRepository.findAllForExistingResources()) {
+            manifest.put(entry.getCodeKey(), entry.getChecksum());
+        }
+        // Metni depoda bulunmayan (ör. yeni makine, boş klasör) kaynaklar değişmemiş olsa da yeniden seed edilir
+        for (Object[] row : translationRepository.findContentHashesByCodeKey()) {
+            String hash = (String) row[1];
+            if (!textStore.isComplete(hash)) manifest.remove((String) row[0]);
+        }
+        seededCount = 0;
+        skippedCount = 0;
+
         loadData();
+        long seededAt = System.nanoTime();
+
+        resourceContentService.clear();
+        resourceCatalogService.refresh();
+        // Diğer düğümler kataloglarını commit'ten sonra yeniden kurar
+        if (seededCount > 0) invalidationBus.publishCatalog();
+
+        log.info("Kaynak seed tamamlandı: {} güncellendi, {} değişmedi (seed {} ms, katalog {} ms)",
+                seededCount, skippedCount,
+                (seededAt - start) / 1_000_000, (System.nanoTime() - seededAt) / 1_000_000);
     }
 
     private void loadData() {
@@ -73,17 +151,8 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Beş",
                         "ar", "باب"
                 ),
-                (lang) -> {
-                    if ("tr".equals(lang)) {
-                        return resourceLoaderService.mergeThreeFiles("cevsen.txt", "cevsen_latin.txt", "cevsen_tr.txt");
-                    } else {
-                        try {
-                            return resourceLoaderService.mergeThreeFiles("cevsen.txt", "cevsen_latin.txt", "cevsen_en.txt");
-                        } catch (Exception e) {
-                            return resourceLoaderService.mergeThreeFiles("cevsen.txt", "cevsen_latin.txt", "cevsen_tr.txt");
-                        }
-                    }
-                }
+                (lang) -> TextRecipe.merge(null, "cevsen.txt", "cevsen_latin.txt",
+                        "tr".equals(lang) ? "cevsen_tr.txt" : "cevsen_en.txt")
         );
 
         // 3. TEVHİDNAME
@@ -106,14 +175,9 @@ public class DataSeeder implements CommandLineRunner {
                         "ar", "باب"
                 ),
                 (lang) -> {
-                    if (!"tr".equals(lang)) {
-                        try {
-                            return resourceLoaderService.mergeThreeFiles("tevhidname.txt", "tevhidname_en.txt", "tevhidname_en.txt");
-                        } catch (Exception e) {
-                            return resourceLoaderService.mergeThreeFiles("tevhidname.txt", "tevhidname_tr.txt", "tevhidname_tr.txt");
-                        }
-                    }
-                    return resourceLoaderService.mergeThreeFiles("tevhidname.txt", "tevhidname_tr.txt", "tevhidname_tr.txt");
+                    // Latin okunuş ve meal aynı dosyadan gelir
+                    String meaning = "tr".equals(lang) ? "tevhidname_tr.txt" : "tevhidname_en.txt";
+                    return TextRecipe.merge(null, "tevhidname.txt", meaning, meaning);
                 }
         );
 
@@ -141,18 +205,11 @@ public class DataSeeder implements CommandLineRunner {
                         "ar", "عدد",
                         "de", "Anzahl"
                 ),
-                (lang) -> {
-                    try {
-                        // Elimizde sadece TR ve EN dosyaları var.
-                        // Diğer diller (Kürtçe, Arapça vb.) seçilse bile
-                        // yapı ve Latin okunuşu için TR dosyasını kullanıyoruz.
-                        // Frontend, MEAL kısmını zaten API'den güncelleyecek.
-                        String filename = "en".equals(lang) ? "fetih_en.txt" : "fetih_tr.txt";
-                        return resourceLoaderService.loadTextFile(filename);
-                    } catch (Exception e) {
-                        return resourceLoaderService.loadTextFile("fetih_tr.txt");
-                    }
-                }
+                // Elimizde sadece TR ve EN dosyaları var.
+                // Diğer diller (Kürtçe, Arapça vb.) seçilse bile
+                // yapı ve Latin okunuşu için TR dosyasını kullanıyoruz.
+                // Frontend, MEAL kısmını zaten API'den güncelleyecek.
+                (lang) -> TextRecipe.file("en".equals(lang) ? "fetih_en.txt" : "fetih_tr.txt")
         );
 
         // 5. YASİN SURESİ
@@ -179,16 +236,9 @@ public class DataSeeder implements CommandLineRunner {
                         "ar", "عدد",
                         "de", "Anzahl"
                 ),
-                (lang) -> {
-                    try {
-                        // Meal API'den geleceği için, Latin okunuşu ve sayfa yapısı
-                        // bozulmasın diye varsayılan dosyaları kullanmaya devam ediyoruz.
-                        String filename = "en".equals(lang) ? "yasin_en.txt" : "yasin_tr.txt";
-                        return resourceLoaderService.loadTextFile(filename);
-                    } catch (Exception e) {
-                        return resourceLoaderService.loadTextFile("yasin_tr.txt");
-                    }
-                }
+                // Meal API'den geleceği için, Latin okunuşu ve sayfa yapısı
+                // bozulmasın diye varsayılan dosyaları kullanmaya devam ediyoruz.
+                (lang) -> TextRecipe.file("en".equals(lang) ? "yasin_en.txt" : "yasin_tr.txt")
         );
 
         // 6. ASHAB-I BEDİR
@@ -210,10 +260,8 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Kes",
                         "ar", "شخص"
                 ),
-                (lang) -> {
-                    if ("tr".equals(lang)) return resourceLoaderService.mergeTwoFiles("bedir.txt", "bedir_latin.txt", "Meal hazırlanıyor...");
-                    return resourceLoaderService.mergeTwoFiles("bedir.txt", "bedir_latin.txt", "Translation pending...");
-                }
+                (lang) -> TextRecipe.merge("tr".equals(lang) ? "Meal hazırlanıyor..." : "Translation pending...",
+                        "bedir.txt", "bedir_latin.txt")
         );
 
         // 7. ŞÜHEDA-İ UHUD
@@ -235,16 +283,8 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Kes",
                         "ar", "شخص"
                 ),
-                (lang) -> {
-                    try {
-                        String arabic = resourceLoaderService.loadTextFile("uhud.txt");
-                        String latin = resourceLoaderService.loadTextFile("uhud_latin.txt");
-                        String meaning = "tr".equals(lang) ? "Şüheda-i Uhud İsim Listesi" : "Names of Uhud Martyrs";
-                        return arabic.trim() + Constants.FIELD_SEPARATOR + latin.trim() + Constants.FIELD_SEPARATOR + meaning;
-                    } catch (Exception e) {
-                        return "Hata" + Constants.FIELD_SEPARATOR + "Error" + Constants.FIELD_SEPARATOR + "Error";
-                    }
-                }
+                (lang) -> TextRecipe.columns(List.of("uhud.txt", "uhud_latin.txt"),
+                        "tr".equals(lang) ? "Şüheda-i Uhud İsim Listesi" : "Names of Uhud Martyrs")
         );
 
         // 8. BÜYÜK SALAVAT
@@ -266,7 +306,7 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> resourceLoaderService.loadTextFile("salavat.txt")
+                (lang) -> TextRecipe.file("salavat.txt")
         );
 
         // 9. SALAT-I MÜNCİYE
@@ -288,14 +328,7 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    try {
-                        String filename = "en".equals(lang) ? "munciye_en.txt" : "munciye_tr.txt";
-                        return resourceLoaderService.loadTextFile(filename);
-                    } catch (Exception e) {
-                        return resourceLoaderService.loadTextFile("munciye_tr.txt");
-                    }
-                }
+                (lang) -> TextRecipe.file("en".equals(lang) ? "munciye_en.txt" : "munciye_tr.txt")
         );
 
         // 10. SALAT-I TEFRİCİYE
@@ -317,14 +350,7 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    try {
-                        String filename = "en".equals(lang) ? "tefriciye_en.txt" : "tefriciye_tr.txt";
-                        return resourceLoaderService.loadTextFile(filename);
-                    } catch (Exception e) {
-                        return resourceLoaderService.loadTextFile("tefriciye_tr.txt");
-                    }
-                }
+                (lang) -> TextRecipe.file("en".equals(lang) ? "tefriciye_en.txt" : "tefriciye_tr.txt")
         );
 
         // 11. YÂ LATÎF
@@ -346,12 +372,10 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    String meaning = "tr".equals(lang)
-                            ? "Ey sonsuz lütuf ve ihsan sahibi, en ince işlerin iç yüzünü bilen, kullarına şefkatle muamele eden Allah."
-                            : "O Gentle One, Who knows the subtleties of all things and treats His servants with kindness.";
-                    return "يَا لَطِيفُ" + Constants.FIELD_SEPARATOR + "Yâ Latîf" + Constants.FIELD_SEPARATOR + meaning;
-                }
+                (lang) -> TextRecipe.columns(List.of(), "يَا لَطِيفُ", "Yâ Latîf",
+                        "tr".equals(lang)
+                                ? "Ey sonsuz lütuf ve ihsan sahibi, en ince işlerin iç yüzünü bilen, kullarına şefkatle muamele eden Allah."
+                                : "O Gentle One, Who knows the subtleties of all things and treats His servants with kindness.")
         );
 
         // 12. YÂ HAFÎZ
@@ -373,12 +397,10 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    String meaning = "tr".equals(lang)
-                            ? "Ey her şeyi koruyan, muhafaza eden, hiç bir şeyin kaybolmasına müsaade etmeyen ve belalardan saklayan Allah."
-                            : "O Preserver, Who protects and preserves all things, allows nothing to be lost, and guards against calamities.";
-                    return "يَا حَفِيظُ" + Constants.FIELD_SEPARATOR + "Yâ Hafîz" + Constants.FIELD_SEPARATOR + meaning;
-                }
+                (lang) -> TextRecipe.columns(List.of(), "يَا حَفِيظُ", "Yâ Hafîz",
+                        "tr".equals(lang)
+                                ? "Ey her şeyi koruyan, muhafaza eden, hiç bir şeyin kaybolmasına müsaade etmeyen ve belalardan saklayan Allah."
+                                : "O Preserver, Who protects and preserves all things, allows nothing to be lost, and guards against calamities.")
         );
 
         // 13. YÂ FETTÂH
@@ -400,12 +422,10 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    String meaning = "tr".equals(lang)
-                            ? "Ey her türlü hayır kapılarını açan, maddi-manevi darlıkları gideren, zorlukları kolaylaştıran Allah."
-                            : "O Opener, Who opens all doors of goodness, removes material and spiritual difficulties, and eases hardships.";
-                    return "يَا فَتَّاحُ" + Constants.FIELD_SEPARATOR + "Yâ Fettâh" + Constants.FIELD_SEPARATOR + meaning;
-                }
+                (lang) -> TextRecipe.columns(List.of(), "يَا فَتَّاحُ", "Yâ Fettâh",
+                        "tr".equals(lang)
+                                ? "Ey her türlü hayır kapılarını açan, maddi-manevi darlıkları gideren, zorlukları kolaylaştıran Allah."
+                                : "O Opener, Who opens all doors of goodness, removes material and spiritual difficulties, and eases hardships.")
         );
 
         // 14. HASBUNALLAH
@@ -427,13 +447,10 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    String meaning = "tr".equals(lang)
-                            ? "Allah bize yeter, O ne güzel vekildir."
-                            : "Allah is sufficient for us, and He is the best Disposer of affairs.";
-                    return "حَسْبُنَا اللَّهُ وَنِعْمَ الْوَكِيلُ" + Constants.FIELD_SEPARATOR +
-                            "Hasbunallâhu ve ni'mel vekîl" + Constants.FIELD_SEPARATOR + meaning;
-                }
+                (lang) -> TextRecipe.columns(List.of(), "حَسْبُنَا اللَّهُ وَنِعْمَ الْوَكِيلُ", "Hasbunallâhu ve ni'mel vekîl",
+                        "tr".equals(lang)
+                                ? "Allah bize yeter, O ne güzel vekildir."
+                                : "Allah is sufficient for us, and He is the best Disposer of affairs.")
         );
 
         // 15. LÂ HAVLE
@@ -455,13 +472,10 @@ public class DataSeeder implements CommandLineRunner {
                         "ku", "Hejmar",
                         "ar", "عدد"
                 ),
-                (lang) -> {
-                    String meaning = "tr".equals(lang)
-                            ? "Güç ve kuvvet, sadece Yüce ve Büyük olan Allah'ın yardımıyladır."
-                            : "There is no power and no strength except with Allah, the Most High, the Most Great.";
-                    return "لَا حَوْلَ وَلَا قُوَّةَ إِلَّا بِاللَّهِ" + Constants.FIELD_SEPARATOR +
-                            "Lâ havle ve lâ kuvvete illâ billâh" + Constants.FIELD_SEPARATOR + meaning;
-                }
+                (lang) -> TextRecipe.columns(List.of(), "لَا حَوْلَ وَلَا قُوَّةَ إِلَّا بِاللَّهِ", "Lâ havle ve lâ kuvvete illâ billâh",
+                        "tr".equals(lang)
+                                ? "Güç ve kuvvet, sadece Yüce ve Büyük olan Allah'ın yardımıyladır."
+                                : "There is no power and no strength except with Allah, the Most High, the Most Great.")
         );
     }
     private void createOrUpdateResource(
@@ -472,6 +486,12 @@ public class DataSeeder implements CommandLineRunner {
             Map<String, String> unitNames,
             ContentProvider contentProvider
     ) {
+        String checksum = checksum(codeKey, type, totalUnits, names, unitNames, contentProvider);
+        if (checksum.equals(manifest.get(codeKey))) {
+            skippedCount++;
+            return;
+        }
+
         Resource resource = resourceRepository.findByCodeKey(codeKey);
         if (resource == null) {
             resource = new Resource();
@@ -484,9 +504,7 @@ public class DataSeeder implements CommandLineRunner {
         List<ResourceTranslation> translations = resource.getTranslations();
         if (translations == null) translations = new ArrayList<>();
 
-         String[] languages = {"tr", "en", "ku", "fr", "ar"};
-
-        for (String lang : languages) {
+        for (String lang : LANGUAGES) {
             ResourceTranslation tr = null;
 
              for (ResourceTranslation t : translations) {
@@ -508,23 +526,102 @@ public class DataSeeder implements CommandLineRunner {
 
              if (contentProvider != null) {
                 try {
-                    String content = contentProvider.getContent(lang);
-                    if (content == null || content.isEmpty()) {
-                         content = contentProvider.getContent("tr");
+                    MergedText content = render(contentProvider.recipe(lang));
+                    if (content.getText().isEmpty()) {
+                         content = render(contentProvider.recipe("tr"));
                     }
-                    tr.setDescription(content);
+                    storeContent(tr, content);
                 } catch (Exception e) {
-                    tr.setDescription("Content pending...");
+                    storeContent(tr, MergedText.of("Content pending..."));
                 }
             }
         }
 
         resource.setTranslations(translations);
         resourceRepository.save(resource);
+
+        seedManifestRepository.save(new SeedManifest(codeKey, checksum));
+        seededCount++;
+    }
+
+    private void storeContent(ResourceTranslation translation, MergedText content) {
+        translation.setContentHash(textStore.put(content));
+        translation.setDescription(keepDbBodies ? content.getText() : null);
+    }
+
+    // Birleştirilen metin satır tablosuyla birlikte döner; depo tabloyu yeniden kurmaz
+    private MergedText render(TextRecipe recipe) {
+        return switch (recipe.kind()) {
+            case MERGE -> resourceLoaderService.mergeFiles(recipe.files(),
+                    recipe.literals().isEmpty() ? null : recipe.literals().get(0));
+            case FILE -> MergedText.of(resourceLoaderService.loadTextFile(recipe.files().get(0)));
+            case COLUMNS -> {
+                List<String> columns = new ArrayList<>();
+                for (String file : recipe.files()) columns.add(resourceLoaderService.loadTextFile(file).trim());
+                columns.addAll(recipe.literals());
+                yield MergedText.of(String.join(Constants.FIELD_SEPARATOR, columns));
+            }
+        };
+    }
+
+    // Kaynak tanımı + her dilin metin tarifi (dosya adları ve sabit metinler) + okunan dosyaların baytları
+    // + seeder sürümü üzerinden SHA-256. Tarifler içeriği üreten tanımın kendisi olduğu için ayrı bir dosya
+    // listesi tutulmaz.
+    private String checksum(String codeKey, ResourceType type, int totalUnits, Map<String, String> names,
+                            Map<String, String> unitNames, ContentProvider contentProvider) {
+        MessageDigest digest = Hashing.sha256();
+
+        StringBuilder header = new StringBuilder()
+                .append(SEEDER_VERSION).append('\0')
+                .append(keepDbBodies).append('\0')
+                .append(codeKey).append('\0')
+                .append(type).append('\0')
+                .append(totalUnits).append('\0')
+                .append(new TreeMap<>(names)).append('\0')
+                .append(new TreeMap<>(unitNames)).append('\0');
+        Set<String> sourceFiles = new LinkedHashSet<>();
+        if (contentProvider != null) {
+            for (String lang : LANGUAGES) {
+                TextRecipe recipe = contentProvider.recipe(lang);
+                header.append(lang).append('=').append(recipe).append('\0');
+                sourceFiles.addAll(recipe.files());
+            }
+        }
+        digest.update(header.toString().getBytes(StandardCharsets.UTF_8));
+
+        for (String file : sourceFiles) {
+            digest.update(file.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            byte[] bytes = resourceLoaderService.loadBytes(file);
+            if (bytes != null) digest.update(bytes);
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
 
     @FunctionalInterface
     interface ContentProvider {
-        String getContent(String lang);
+        TextRecipe recipe(String lang);
+    }
+
+    // Bir dilin metninin nasıl üretileceği:
+    // MERGE   dosyalar satır satır birleştirilir, literal verilirse her satıra son sütun olarak eklenir
+    // FILE    tek dosya olduğu gibi okunur
+    // COLUMNS dosyaların tamamı (trim edilerek) ve sabit metinler tek satırda yan yana sütun olur
+    record TextRecipe(Kind kind, List<String> files, List<String> literals) {
+
+        enum Kind { MERGE, FILE, COLUMNS }
+
+        static TextRecipe merge(String suffix, String... files) {
+            return new TextRecipe(Kind.MERGE, List.of(files), suffix != null ? List.of(suffix) : List.of());
+        }
+
+        static TextRecipe file(String file) {
+            return new TextRecipe(Kind.FILE, List.of(file), List.of());
+        }
+
+        static TextRecipe columns(List<String> files, String... literals) {
+            return new TextRecipe(Kind.COLUMNS, files, List.of(literals));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.readcircle.config;
+
+import com.readcircle.service.InvalidationBus;
+import com.readcircle.service.LocalInvalidationBus;
+import com.readcircle.service.PostgresInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+// app.invalidation.bus: postgres, local ya da auto (veritabanı PostgreSQL ise postgres, değilse local)
+@Configuration
+public class InvalidationBusConfig {
+
+    @Bean
+    public InvalidationBus invalidationBus(@Value("${app.invalidation.bus:auto}") String mode,
+                                           @Value("${spring.datasource.url:}") String datasourceUrl,
+                                           DataSource dataSource,
+                                           JdbcTemplate jdbcTemplate,
+                                           ApplicationEventPublisher eventPublisher) {
+        boolean postgres = mode.equals("postgres")
+                || (mode.equals("auto") && datasourceUrl.startsWith("jdbc:postgresql:"));
+        if (postgres) return new PostgresInvalidationBus(dataSource, jdbcTemplate, eventPublisher);
+        return new LocalInvalidationBus(eventPublisher);
+    }
+}
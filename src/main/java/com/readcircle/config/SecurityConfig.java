@@ -41,10 +41,14 @@ public class SecurityConfig {
                                 "/api/distribution/cancel/**",
                                 "/api/distribution/update-progress/**",
                                 "/api/distribution/complete/**",
+                                "/api/distribution/*/events",
+                                "/api/distribution/*/batch",
+                                "/api/distribution/*/summary",
                                 "/error"
                         ).permitAll()
 
                          .requestMatchers(HttpMethod.GET, "/api/distribution/join/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/resources/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/distribution/assign/**").permitAll()
 
                          .requestMatchers("/admin/**").authenticated()
@@ -1,23 +1,17 @@
 package com.readcircle.controller;
 
 import com.readcircle.model.User;
-import com.readcircle.repository.UserRepository;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import com.readcircle.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value; // YENİ IMPORT
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.charset.StandardCharsets; // YENİ IMPORT
-import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -25,44 +19,54 @@ import java.util.Optional;
 public class AuthController {
 
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-
-     @Value("${jwt.secret}")
-    private String secretKey;
+    private AuthService authService;
 
+    // BCrypt ayrı, sınırlı bir havuzda çalışır; istek thread'i sonucu beklerken serbest kalır
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody User user) {
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
-            return ResponseEntity.badRequest().body("Bu kullanıcı adı zaten alınmış.");
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody User user) {
+        try {
+            return authService.register(user)
+                    .<ResponseEntity<?>>thenApply(created -> created
+                            ? ResponseEntity.ok("Kayıt başarılı")
+                            : ResponseEntity.badRequest().body("Bu kullanıcı adı zaten alınmış."))
+                    .exceptionally(AuthController::busyOrRethrow);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
-        return ResponseEntity.ok("Kayıt başarılı");
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody User loginRequest) {
-        Optional<User> userOpt = userRepository.findByUsername(loginRequest.getUsername());
-
-        if (userOpt.isPresent() && passwordEncoder.matches(loginRequest.getPassword(), userOpt.get().getPassword())) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody User loginRequest) {
+        try {
+            return authService.login(loginRequest.getUsername(), loginRequest.getPassword())
+                    .<ResponseEntity<?>>thenApply(tokens -> tokens != null
+                            ? ResponseEntity.ok(tokens)
+                            : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Hatalı kullanıcı adı veya şifre"))
+                    .exceptionally(AuthController::busyOrRethrow);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
+        }
+    }
 
-             Key key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    // Süresi dolmak üzere olan JWT, şifre sorulmadan yenileme token'ıyla yenilenir
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        Map<String, String> tokens = authService.refresh(request.get("refreshToken"));
+        if (tokens == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Geçersiz veya süresi dolmuş yenileme anahtarı");
+        }
+        return ResponseEntity.ok(tokens);
+    }
 
-            String token = Jwts.builder()
-                    .setSubject(userOpt.get().getUsername())
-                    .setIssuedAt(new Date())
-                    .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 saat
-                    .signWith(key, SignatureAlgorithm.HS256) // Sabit anahtar ile imzalama
-                    .compact();
+    private static ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Sunucu yoğun, lütfen tekrar deneyin");
+    }
 
-            Map<String, String> response = new HashMap<>();
-            response.put("token", token);
-            response.put("username", userOpt.get().getUsername());
-            return ResponseEntity.ok(response);
-        }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Hatalı kullanıcı adı veya şifre");
+    private static ResponseEntity<?> busyOrRethrow(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) return busy();
+        throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
     }
-}
\ No newline at end of file
+}
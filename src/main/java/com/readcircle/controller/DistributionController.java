@@ -1,48 +1,103 @@
 package com.readcircle.controller;
 
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.BatchRequest;
 import com.readcircle.dto.CreateDistributionRequest;
-import com.readcircle.model.Assignment;
+import com.readcircle.dto.SessionCard;
+import com.readcircle.dto.SessionCardPage;
+import com.readcircle.dto.SessionSummary;
+import com.readcircle.exception.AssignmentAlreadyTakenException;
+import com.readcircle.exception.NotFoundException;
 import com.readcircle.model.DistributionSession;
 import com.readcircle.model.Resource;
 import com.readcircle.repository.AssignmentRepository;
 import com.readcircle.repository.DistributionSessionRepository;
 import com.readcircle.repository.ResourceRepository;
 import com.readcircle.service.DistributionService;
+import com.readcircle.service.HotSessionService;
+import com.readcircle.service.InvalidationBus;
+import com.readcircle.service.ProgressBuffer;
+import com.readcircle.service.ResourceCatalogService;
+import com.readcircle.service.SessionEventBroadcaster;
+import com.readcircle.service.SessionProgressService;
+import com.readcircle.service.SessionResponseCache;
+import com.readcircle.service.SessionSnapshot;
+import com.readcircle.service.SessionViewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.beans.factory.annotation.Value;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/distribution")
 public class DistributionController {
 
+    private static final int DEFAULT_CARD_PAGE = 20;
+    private static final int MAX_CARD_PAGE = 100;
+
     private final DistributionService service;
+    private final SessionViewService sessionViewService;
+    private final SessionEventBroadcaster eventBroadcaster;
+    private final ResourceCatalogService catalogService;
     private final ResourceRepository resourceRepository;
     private final DistributionSessionRepository distributionSessionRepository;
+    private final ProgressBuffer progressBuffer;
+    private final SessionProgressService progressService;
+    private final HotSessionService hotSessions;
+    private final SessionResponseCache responseCache;
+    private final InvalidationBus invalidationBus;
 
     @Autowired
     private AssignmentRepository assignmentRepository;
 
-    public DistributionController(DistributionService service, ResourceRepository resourceRepository, DistributionSessionRepository distributionSessionRepository) {
+    public DistributionController(DistributionService service, SessionViewService sessionViewService, SessionEventBroadcaster eventBroadcaster, ResourceCatalogService catalogService, ResourceRepository resourceRepository, DistributionSessionRepository distributionSessionRepository, ProgressBuffer progressBuffer, SessionProgressService progressService, HotSessionService hotSessions, SessionResponseCache responseCache, InvalidationBus invalidationBus) {
         this.service = service;
+        this.sessionViewService = sessionViewService;
+        this.eventBroadcaster = eventBroadcaster;
+        this.catalogService = catalogService;
         this.resourceRepository = resourceRepository;
         this.distributionSessionRepository = distributionSessionRepository;
+        this.progressBuffer = progressBuffer;
+        this.progressService = progressService;
+        this.hotSessions = hotSessions;
+        this.responseCache = responseCache;
+        this.invalidationBus = invalidationBus;
     }
 
     @Value("${app.security.db-reset-enabled:false}")
     private boolean isDbResetEnabled;
 
+    // Seed'de değişen katalog bellekte hazır JSON'dur; ETag eşleşirse 304, lang verilirse metinsiz tek dilli özet
     @GetMapping("/resources")
-    public List<Resource> getAllResources() {
-        return resourceRepository.findAll();
+    public ResponseEntity<byte[]> getAllResources(@RequestParam(required = false) String lang, WebRequest request) {
+        String etag = lang == null
+                ? catalogService.getETag()
+                : "\"catalog-" + catalogService.getChecksum() + "-" + SessionViewService.normalizeLang(lang) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        byte[] body = lang == null ? catalogService.getFullJson() : catalogService.getJson(lang);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @PostMapping("/create")
@@ -69,6 +124,7 @@ public class DistributionController {
         try {
             String username = getCurrentUsername();
             // totalUnits parametresini servise ekleyin:
+            hotSessions.evict(code);
             service.addResourceToSession(code, resourceId, username, totalUnits);
             return ResponseEntity.ok("Kaynak başarıyla eklendi.");
         } catch (Exception e) {
@@ -76,23 +132,133 @@ public class DistributionController {
         }
     }
 
+    // Sayfalı oturum kartları döner (varsayılan 20, sonraki sayfa: ?before=nextBefore).
+    // Eski (tam entity, sayfasız) liste sadece ?legacy=true ile döner
     @GetMapping("/my-created-sessions")
-    public ResponseEntity<List<DistributionSession>> getMyCreatedSessions() {
+    public ResponseEntity<?> getMyCreatedSessions(@RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) Long before,
+                                                  @RequestParam(defaultValue = "false") boolean legacy) {
         String name = getCurrentUsername();
-        List<DistributionSession> sessions = distributionSessionRepository.findByCreatorNameOrderByIdDesc(name);
-        return ResponseEntity.ok(sessions);
+        if (legacy) {
+            return ResponseEntity.ok(distributionSessionRepository.findByCreatorNameOrderByIdDesc(name));
+        }
+        int pageSize = limit != null ? limit : DEFAULT_CARD_PAGE;
+        if (pageSize < 1 || pageSize > MAX_CARD_PAGE) {
+            return ResponseEntity.badRequest().body("Sayfa boyutu 1 ile " + MAX_CARD_PAGE + " arasında olmalıdır.");
+        }
+        return ResponseEntity.ok(cardPage(distributionSessionRepository.findCreatedCards(name,
+                before != null ? before : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1)), pageSize));
+    }
+
+    // Liste sayfalarındaki ilerleme çubukları için: oturum başına kaynak sayaçları (parça tablosu okunmaz)
+    @GetMapping("/progress")
+    public ResponseEntity<?> getProgressCounters(@RequestParam List<String> codes) {
+        if (codes.size() > 100) {
+            return ResponseEntity.badRequest().body("Bir istekte en fazla 100 oturum sorgulanabilir.");
+        }
+        return ResponseEntity.ok(progressService.getCounters(codes));
     }
 
+    // Sayfalı oturum kartları döner (varsayılan 20, sonraki sayfa: ?before=nextBefore).
+    // Eski (tam entity, sayfasız) liste sadece ?legacy=true ile döner
     @GetMapping("/my-sessions")
-    public ResponseEntity<List<DistributionSession>> getMySessions() {
+    public ResponseEntity<?> getMySessions(@RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) Long before,
+                                           @RequestParam(defaultValue = "false") boolean legacy) {
         String name = getCurrentUsername();
-        List<DistributionSession> sessions = assignmentRepository.findSessionsByUserName(name);
-        return ResponseEntity.ok(sessions);
+        if (legacy) {
+            return ResponseEntity.ok(assignmentRepository.findSessionsByUserName(name));
+        }
+        int pageSize = limit != null ? limit : DEFAULT_CARD_PAGE;
+        if (pageSize < 1 || pageSize > MAX_CARD_PAGE) {
+            return ResponseEntity.badRequest().body("Sayfa boyutu 1 ile " + MAX_CARD_PAGE + " arasında olmalıdır.");
+        }
+        return ResponseEntity.ok(cardPage(distributionSessionRepository.findJoinedCards(name,
+                before != null ? before : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1)), pageSize));
     }
 
+    // Bir fazla satır okunur: varsa sonraki sayfa vardır
+    private static SessionCardPage cardPage(List<SessionCard> cards, int limit) {
+        if (cards.size() <= limit) return new SessionCardPage(cards, null);
+        List<SessionCard> items = cards.subList(0, limit);
+        return new SessionCardPage(items, items.get(limit - 1).getId());
+    }
+
+    // lang verilirse metinsiz hafif görünüm döner, verilmezse eski (tam) entity cevabı korunur.
+    // sinceRevision verilirse sadece o revizyondan sonra değişen parçalar döner.
+    // ETag = oturum revizyonu + henüz yazılmamış ilerleme sürümü + cevap türü + katalog özeti;
+    // eşleşirse oturum hiç yüklenmeden 304 döner.
     @GetMapping("/get/{code}")
-    public DistributionSession getSession(@PathVariable String code) {
-        return service.getSessionByCode(code);
+    public ResponseEntity<?> getSession(@PathVariable String code,
+                                        @RequestParam(required = false) String lang,
+                                        @RequestParam(required = false) Long sinceRevision,
+                                        WebRequest request,
+                                        HttpServletResponse response) throws IOException {
+        // Sıcak oturumda revizyon bellekten okunur
+        Long revision = hotSessions.revision(code);
+        if (revision == null) revision = distributionSessionRepository.findRevisionByCode(code);
+        if (revision == null) {
+            if (sinceRevision != null || lang != null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(service.getSessionByCode(code));
+        }
+
+        String variant = sinceRevision != null ? "since" + sinceRevision
+                : lang != null ? SessionViewService.normalizeLang(lang) : "full";
+        String etag = "\"" + code + "-r" + revision + "-p" + progressBuffer.tapVersion(code) + "-" + variant + "-" + catalogService.getChecksum() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
+        if (sinceRevision == null && lang != null) {
+            // Hafif görünüm, revizyon başına bir kez kurulan anlık görüntüden doğrudan cevaba yazılır
+            SessionSnapshot snapshot = sessionViewService.getSnapshot(code, revision);
+            if (snapshot == null) return ResponseEntity.notFound().build();
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            sessionViewService.writeSessionView(snapshot, lang, response.getOutputStream());
+            return null;
+        }
+
+        if (sinceRevision == null) {
+            // Eski tam cevap, revizyon değişene kadar önbellekteki hazır JSON'dan döner
+            byte[] json = responseCache.getFullJson(code, revision);
+            if (json == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON).body(json);
+        }
+
+        Object body = sessionViewService.getSessionDelta(code, sinceRevision);
+        if (body == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    // Kaynak başına toplamlar (dağıtılan/alınan/tamamlanan birimler, okuyucu sayısı); parça listesi dönmez
+    @GetMapping("/{code}/summary")
+    public ResponseEntity<?> getSummary(@PathVariable String code,
+                                        @RequestParam(required = false) String lang,
+                                        WebRequest request) {
+        Long revision = distributionSessionRepository.findRevisionByCode(code);
+        if (revision == null) return ResponseEntity.notFound().build();
+
+        String etag = "\"" + code + "-r" + revision + "-summary-" + SessionViewService.normalizeLang(lang)
+                + "-" + catalogService.getChecksum() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
+        SessionSummary summary = sessionViewService.getSessionSummary(code, lang);
+        if (summary == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(summary);
+    }
+
+    // Canlı takip: parça alındı/bırakıldı/ilerleme gibi küçük olaylar SSE ile gönderilir
+    @GetMapping(path = "/{code}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable String code) {
+        if (!service.sessionExists(code)) return ResponseEntity.notFound().build();
+        SseEmitter emitter = eventBroadcaster.subscribe(code);
+        if (emitter == null) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        return ResponseEntity.ok(emitter);
     }
 
      @PostMapping("/take/{assignmentId}")
@@ -104,27 +270,42 @@ public class DistributionController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
 
-        Assignment assignment = assignmentRepository.findById(assignmentId).orElse(null);
-        if (assignment == null) return ResponseEntity.notFound().build();
+        try {
+            AssignmentView updatedAssignment = hotSessions.claimAssignment(assignmentId, effectiveName);
+            return ResponseEntity.ok(updatedAssignment);
+        } catch (AssignmentAlreadyTakenException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
 
-        if (assignment.isTaken()) {
-            if (assignment.getAssignedToName() != null && assignment.getAssignedToName().equals(effectiveName)) {
-                return ResponseEntity.ok(assignment);
-            }
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ALREADY_TAKEN");
+    // Birden çok parçayı tek istekte al/tamamla/bırak; her işlemin sonucu istekteki sırayla ayrı döner.
+    // Toplu istek kendi işleminde yazılır: oturum sıcaksa önce normal moda döner, yazmalar sürerse yeniden ısınır.
+    @PostMapping("/{code}/batch")
+    public ResponseEntity<?> applyBatch(@PathVariable String code, @Valid @RequestBody BatchRequest request,
+                                        @RequestParam(required = false) String name) {
+        String effectiveName;
+        try {
+            effectiveName = getEffectiveUsername(name);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
 
-        Assignment updatedAssignment = service.claimAssignment(assignmentId, effectiveName);
-        return ResponseEntity.ok(updatedAssignment);
+        try {
+            hotSessions.evict(code);
+            return ResponseEntity.ok(service.applyBatch(code, request.getOperations(), effectiveName));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
     }
 
      @PostMapping("/update-progress/{id}")
-    @Transactional
     public ResponseEntity<?> updateProgress(@PathVariable Long id, @RequestParam int count, @RequestParam(required = false) String name) {
         try {
              String effectiveName = getEffectiveUsername(name);
 
-             service.updateProgress(id, count, effectiveName);
+             hotSessions.updateProgress(id, count, effectiveName);
 
             return ResponseEntity.ok("Progress saved: " + count);
         } catch (Exception e) {
@@ -137,7 +318,7 @@ public class DistributionController {
         try {
             String effectiveName = getEffectiveUsername(name);
             // Servisten dönen güncel objeyi bir değişkene atıyoruz
-            Assignment updatedAssignment = service.cancelAssignment(id, effectiveName);
+            AssignmentView updatedAssignment = hotSessions.cancelAssignment(id, effectiveName);
 
             // Ve Frontend'e bu güncel objeyi gönderiyoruz (String yerine)
             return ResponseEntity.ok(updatedAssignment);
@@ -150,7 +331,7 @@ public class DistributionController {
     public ResponseEntity<?> completeAssignment(@PathVariable Long id, @RequestParam(required = false) String name) {
         try {
             String effectiveName = getEffectiveUsername(name);
-            Assignment updated = service.completeAssignment(id, effectiveName);
+            AssignmentView updated = hotSessions.completeAssignment(id, effectiveName);
             return ResponseEntity.ok(updated);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
@@ -164,7 +345,10 @@ public class DistributionController {
                     .body("Bu özellik güvenlik nedeniyle devre dışı bırakılmıştır.");
         }
 
+        hotSessions.evictAll();
         service.initDatabase();
+        responseCache.invalidateAll();
+        invalidationBus.publishAll();
         return ResponseEntity.ok("Veritabanı başarıyla sıfırlandı.");
     }
 
@@ -172,6 +356,7 @@ public class DistributionController {
     public ResponseEntity<?> deleteSession(@PathVariable String code) {
         try {
             String username = getCurrentUsername();
+            hotSessions.evict(code);
             service.deleteSession(code, username);
             return ResponseEntity.ok("Oturum başarıyla silindi.");
         } catch (Exception e) {
@@ -183,6 +368,7 @@ public class DistributionController {
     public ResponseEntity<?> leaveSession(@PathVariable String code) {
         try {
             String username = getCurrentUsername();
+            hotSessions.evict(code);
             service.leaveSession(code, username);
             return ResponseEntity.ok("Halkadan ayrıldınız.");
         } catch (Exception e) {
@@ -194,6 +380,7 @@ public class DistributionController {
     public ResponseEntity<?> resetSession(@PathVariable String code) {
         try {
             String username = getCurrentUsername();
+            hotSessions.evict(code);
             service.resetSession(code, username);
             return ResponseEntity.ok("Oturum başarıyla sıfırlandı.");
         } catch (Exception e) {
@@ -0,0 +1,137 @@
+package com.readcircle.controller;
+
+import com.readcircle.dto.ResourceContent;
+import com.readcircle.service.ResourceContentService;
+import com.readcircle.service.TextStoreService;
+import com.readcircle.util.StoredText;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/resources")
+public class ResourceController {
+
+    private final ResourceContentService contentService;
+    private final TextStoreService textStore;
+
+    private final Counter gzipResponses;
+    private final Counter identityResponses;
+    private final DistributionSummary gzipBytesSaved;
+    private final Timer gzipCpuAvoided;
+
+    public ResourceController(ResourceContentService contentService, TextStoreService textStore, MeterRegistry meterRegistry) {
+        this.contentService = contentService;
+        this.textStore = textStore;
+        this.gzipResponses = Counter.builder("readcircle.text.responses").tag("encoding", "gzip")
+                .description("Kodlamaya göre gönderilen metin cevapları").register(meterRegistry);
+        this.identityResponses = Counter.builder("readcircle.text.responses").tag("encoding", "identity")
+                .description("Kodlamaya göre gönderilen metin cevapları").register(meterRegistry);
+        this.gzipBytesSaved = DistributionSummary.builder("readcircle.text.gzip.bytes.saved").baseUnit("bytes")
+                .description("Cevap başına sıkıştırma ile kazanılan bayt").register(meterRegistry);
+        this.gzipCpuAvoided = Timer.builder("readcircle.text.gzip.cpu.avoided")
+                .description("Cevap başına anlık sıkıştırma yapılmadığı için kazanılan CPU süresi").register(meterRegistry);
+    }
+
+    // Örn: /api/resources/2/content?lang=tr&from=12&to=15 -> Cevşen 12-15. bablar
+    @GetMapping("/{id}/content")
+    public ResponseEntity<?> getContent(
+            @PathVariable Long id,
+            @RequestParam(required = false) String lang,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer to
+    ) {
+        try {
+            ResourceContent content = contentService.getContent(id, lang, from, to);
+            if (content == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(content);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Birleştirilmiş metnin tamamı (satırlar ###, sütunlar ||| ile ayrılmış), depodaki dosyadan doğrudan gönderilir.
+    // Örn: /api/resources/2/text?lang=en
+    @GetMapping("/{id}/text")
+    public void getText(
+            @PathVariable Long id,
+            @RequestParam(required = false) String lang,
+            WebRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        StoredText stored = contentService.getStoredText(id, lang);
+        if (stored == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // İçerik adresli olduğu için özet aynı kaldıkça metin de aynıdır; her kodlamanın kendi ETag'i vardır
+        String hash = stored.getHash();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) && textStore.hasGzip(hash);
+        String etag = "\"" + hash + (gzip ? "-gz" : "") + "\"";
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic().getHeaderValue());
+        if (request.checkNotModified(etag)) return;
+
+        response.setContentType("text/plain;charset=UTF-8");
+        if (gzip) {
+            long rawSize = textStore.size(hash);
+            long gzipSize = textStore.gzipSize(hash);
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLengthLong(gzipSize);
+            textStore.transferGzipTo(hash, Channels.newChannel(response.getOutputStream()));
+
+            gzipResponses.increment();
+            gzipBytesSaved.record(rawSize - gzipSize);
+            // Maliyet metin depoya yazılırken ölçülmüştür; istek sırasında sıkıştırma yapılmaz
+            long compressionNanos = textStore.compressionNanos(hash);
+            if (compressionNanos >= 0) gzipCpuAvoided.record(compressionNanos, TimeUnit.NANOSECONDS);
+        } else {
+            response.setContentLengthLong(textStore.size(hash));
+            textStore.transferTo(hash, Channels.newChannel(response.getOutputStream()));
+            identityResponses.increment();
+        }
+    }
+
+    // "gzip" açıkça ya da "*" ile kabul ediliyor ve q=0 ile reddedilmemişse true (açık "gzip" kaydı "*"dan önce gelir)
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            if (!coding.equals("gzip") && !coding.equals("*")) continue;
+
+            boolean accepted = true;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (coding.equals("gzip")) gzip = accepted;
+            else any = accepted;
+        }
+        if (gzip != null) return gzip;
+        return any != null && any;
+    }
+}
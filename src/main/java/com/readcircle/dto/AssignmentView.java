@@ -0,0 +1,51 @@
+package com.readcircle.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Oturum görünümündeki tek bir parça. Kaynak nesnesinin tamamı yerine sadece kimliğini taşır.
+public class AssignmentView {
+
+    private final Long id;
+    private final Long resourceId;
+    private final int participantNumber;
+    private final int startUnit;
+    private final int endUnit;
+    private final boolean isTaken;
+    private final boolean isCompleted;
+    private final String assignedToName;
+    private final Integer currentCount;
+
+    public AssignmentView(Long id, Long resourceId, int participantNumber, int startUnit, int endUnit,
+                          boolean isTaken, boolean isCompleted, String assignedToName, Integer currentCount) {
+        this.id = id;
+        this.resourceId = resourceId;
+        this.participantNumber = participantNumber;
+        this.startUnit = startUnit;
+        this.endUnit = endUnit;
+        this.isTaken = isTaken;
+        this.isCompleted = isCompleted;
+        this.assignedToName = assignedToName;
+        this.currentCount = currentCount;
+    }
+
+    // Aynı parçanın farklı sayaç değeriyle kopyası (yazılmayı bekleyen ilerleme için)
+    public AssignmentView withCurrentCount(Integer count) {
+        return new AssignmentView(id, resourceId, participantNumber, startUnit, endUnit,
+                isTaken, isCompleted, assignedToName, count);
+    }
+
+    public Long getId() { return id; }
+    public Long getResourceId() { return resourceId; }
+    public int getParticipantNumber() { return participantNumber; }
+    public int getStartUnit() { return startUnit; }
+    public int getEndUnit() { return endUnit; }
+
+    @JsonProperty("isTaken")
+    public boolean isTaken() { return isTaken; }
+
+    @JsonProperty("isCompleted")
+    public boolean isCompleted() { return isCompleted; }
+
+    public String getAssignedToName() { return assignedToName; }
+    public Integer getCurrentCount() { return currentCount; }
+}
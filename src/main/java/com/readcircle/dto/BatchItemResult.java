@@ -0,0 +1,37 @@
+package com.readcircle.dto;
+
+// Toplu istekteki bir işlemin sonucu; işlemler istekteki sırayla döner.
+// Başarılı işlemlerde parçanın güncel hâli de eklenir.
+public class BatchItemResult {
+
+    public enum Status { OK, CONFLICT, FORBIDDEN, NOT_FOUND, DUPLICATE }
+
+    private final Long assignmentId;
+    private final BatchOperation.Type type;
+    private final Status status;
+    private final String message;
+    private final AssignmentView assignment;
+
+    public BatchItemResult(Long assignmentId, BatchOperation.Type type, Status status, String message,
+                           AssignmentView assignment) {
+        this.assignmentId = assignmentId;
+        this.type = type;
+        this.status = status;
+        this.message = message;
+        this.assignment = assignment;
+    }
+
+    public static BatchItemResult ok(BatchOperation operation, AssignmentView assignment) {
+        return new BatchItemResult(operation.getAssignmentId(), operation.getType(), Status.OK, null, assignment);
+    }
+
+    public static BatchItemResult failed(BatchOperation operation, Status status, String message) {
+        return new BatchItemResult(operation.getAssignmentId(), operation.getType(), status, message, null);
+    }
+
+    public Long getAssignmentId() { return assignmentId; }
+    public BatchOperation.Type getType() { return type; }
+    public Status getStatus() { return status; }
+    public String getMessage() { return message; }
+    public AssignmentView getAssignment() { return assignment; }
+}
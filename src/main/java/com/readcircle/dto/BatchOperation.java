@@ -0,0 +1,31 @@
+package com.readcircle.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+// Toplu isteğin tek bir adımı: bir parçayı al, tamamla veya bırak
+public class BatchOperation {
+
+    public enum Type { TAKE, COMPLETE, CANCEL }
+
+    @NotNull(message = "İşlem türü gerekli.")
+    private Type type;
+
+    @NotNull(message = "Parça numarası gerekli.")
+    private Long assignmentId;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public void setAssignmentId(Long assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+}
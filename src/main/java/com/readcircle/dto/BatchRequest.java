@@ -0,0 +1,22 @@
+package com.readcircle.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchRequest {
+
+    @NotEmpty(message = "En az bir işlem gerekli.")
+    @Size(max = 200, message = "Bir istekte en fazla 200 işlem yapılabilir.")
+    private List<@Valid BatchOperation> operations;
+
+    public List<BatchOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperation> operations) {
+        this.operations = operations;
+    }
+}
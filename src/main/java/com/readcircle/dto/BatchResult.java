@@ -0,0 +1,20 @@
+package com.readcircle.dto;
+
+import java.util.List;
+
+public class BatchResult {
+
+    private final String code;
+    private final long revision;
+    private final List<BatchItemResult> results;
+
+    public BatchResult(String code, long revision, List<BatchItemResult> results) {
+        this.code = code;
+        this.revision = revision;
+        this.results = results;
+    }
+
+    public String getCode() { return code; }
+    public long getRevision() { return revision; }
+    public List<BatchItemResult> getResults() { return results; }
+}
@@ -0,0 +1,36 @@
+package com.readcircle.dto;
+
+// session_progress satırının liste sayfaları için hafif hâli
+public class ProgressCounters {
+
+    private final String code;
+    private final Long resourceId;
+    private final long parts;
+    private final long takenParts;
+    private final long completedParts;
+    private final long units;
+    private final long takenUnits;
+    private final long completedUnits;
+
+    public ProgressCounters(String code, Long resourceId, long parts, long takenParts, long completedParts,
+                            long units, long takenUnits, long completedUnits) {
+        this.code = code;
+        this.resourceId = resourceId;
+        this.parts = parts;
+        this.takenParts = takenParts;
+        this.completedParts = completedParts;
+        this.units = units;
+        this.takenUnits = takenUnits;
+        this.completedUnits = completedUnits;
+    }
+
+    public String getCode() { return code; }
+    public Long getResourceId() { return resourceId; }
+    public long getParts() { return parts; }
+    public long getTakenParts() { return takenParts; }
+    public long getCompletedParts() { return completedParts; }
+    public long getUnits() { return units; }
+    public long getTakenUnits() { return takenUnits; }
+    public long getCompletedUnits() { return completedUnits; }
+    public long getRemainingUnits() { return units - completedUnits; }
+}
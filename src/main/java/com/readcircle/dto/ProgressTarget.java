@@ -0,0 +1,32 @@
+package com.readcircle.dto;
+
+// İlerleme kaydı için bir parçanın sahipliği ve bağlı olduğu oturum/grup bilgisi.
+public class ProgressTarget {
+
+    private final Long assignmentId;
+    private final Long sessionId;
+    private final String sessionCode;
+    private final Long resourceId;
+    private final int participantNumber;
+    private final String assignedToName;
+    private final boolean completed;
+
+    public ProgressTarget(Long assignmentId, Long sessionId, String sessionCode, Long resourceId,
+                          int participantNumber, String assignedToName, boolean completed) {
+        this.assignmentId = assignmentId;
+        this.sessionId = sessionId;
+        this.sessionCode = sessionCode;
+        this.resourceId = resourceId;
+        this.participantNumber = participantNumber;
+        this.assignedToName = assignedToName;
+        this.completed = completed;
+    }
+
+    public Long getAssignmentId() { return assignmentId; }
+    public Long getSessionId() { return sessionId; }
+    public String getSessionCode() { return sessionCode; }
+    public Long getResourceId() { return resourceId; }
+    public int getParticipantNumber() { return participantNumber; }
+    public String getAssignedToName() { return assignedToName; }
+    public boolean isCompleted() { return completed; }
+}
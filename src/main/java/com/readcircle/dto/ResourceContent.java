@@ -0,0 +1,30 @@
+package com.readcircle.dto;
+
+import java.util.List;
+
+// Bir kaynak metninin sadece istenen satır aralığı (from-to, 1 tabanlı, iki uç dahil).
+public class ResourceContent {
+
+    private final Long resourceId;
+    private final String lang;
+    private final int from;
+    private final int to;
+    private final int totalRows;
+    private final List<String> rows;
+
+    public ResourceContent(Long resourceId, String lang, int from, int to, int totalRows, List<String> rows) {
+        this.resourceId = resourceId;
+        this.lang = lang;
+        this.from = from;
+        this.to = to;
+        this.totalRows = totalRows;
+        this.rows = rows;
+    }
+
+    public Long getResourceId() { return resourceId; }
+    public String getLang() { return lang; }
+    public int getFrom() { return from; }
+    public int getTo() { return to; }
+    public int getTotalRows() { return totalRows; }
+    public List<String> getRows() { return rows; }
+}
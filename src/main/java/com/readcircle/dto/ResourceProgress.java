@@ -0,0 +1,50 @@
+package com.readcircle.dto;
+
+// Oturumdaki tek bir kaynağın toplamları. Parça = katılımcı numarası (çoklu satırlı gruplar tek parça sayılır),
+// birim = sayfa/bab/adet, kalan = tamamlanmamış parçalardaki sayaçların toplamı.
+public class ResourceProgress {
+
+    private final Long resourceId;
+    private final long parts;
+    private final long takenParts;
+    private final long completedParts;
+    private final long units;
+    private final long takenUnits;
+    private final long completedUnits;
+    private final long remainingCount;
+    private final long readers;
+
+    public ResourceProgress(Long resourceId, Long parts, Long takenParts, Long completedParts, Long units,
+                            Long takenUnits, Long completedUnits, Long remainingCount, Long readers) {
+        this.resourceId = resourceId;
+        this.parts = valueOf(parts);
+        this.takenParts = valueOf(takenParts);
+        this.completedParts = valueOf(completedParts);
+        this.units = valueOf(units);
+        this.takenUnits = valueOf(takenUnits);
+        this.completedUnits = valueOf(completedUnits);
+        this.remainingCount = valueOf(remainingCount);
+        this.readers = valueOf(readers);
+    }
+
+    // Satırı henüz oluşmamış (kimse almamış) sanal parçaları ekler
+    public ResourceProgress plusUntaken(long slotParts, long slotUnits) {
+        return new ResourceProgress(resourceId, parts + slotParts, takenParts, completedParts, units + slotUnits,
+                takenUnits, completedUnits, remainingCount + slotUnits, readers);
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+
+    public Long getResourceId() { return resourceId; }
+    public long getParts() { return parts; }
+    public long getTakenParts() { return takenParts; }
+    public long getCompletedParts() { return completedParts; }
+    public long getUnits() { return units; }
+    public long getTakenUnits() { return takenUnits; }
+    public long getCompletedUnits() { return completedUnits; }
+    public long getRemainingUnits() { return units - completedUnits; }
+    public long getRemainingCount() { return remainingCount; }
+    public long getReaders() { return readers; }
+}
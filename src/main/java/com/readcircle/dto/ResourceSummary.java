@@ -0,0 +1,37 @@
+package com.readcircle.dto;
+
+import com.readcircle.model.ResourceType;
+
+// Kaynağın tek dildeki özeti (metin gövdesi olmadan). contentHash metin değiştiğinde değişir.
+public class ResourceSummary {
+
+    private final Long id;
+    private final String codeKey;
+    private final ResourceType type;
+    private final int totalUnits;
+    private final String lang;
+    private final String name;
+    private final String unitName;
+    private final String contentHash;
+
+    public ResourceSummary(Long id, String codeKey, ResourceType type, int totalUnits,
+                           String lang, String name, String unitName, String contentHash) {
+        this.id = id;
+        this.codeKey = codeKey;
+        this.type = type;
+        this.totalUnits = totalUnits;
+        this.lang = lang;
+        this.name = name;
+        this.unitName = unitName;
+        this.contentHash = contentHash;
+    }
+
+    public Long getId() { return id; }
+    public String getCodeKey() { return codeKey; }
+    public ResourceType getType() { return type; }
+    public int getTotalUnits() { return totalUnits; }
+    public String getLang() { return lang; }
+    public String getName() { return name; }
+    public String getUnitName() { return unitName; }
+    public String getContentHash() { return contentHash; }
+}
@@ -0,0 +1,52 @@
+package com.readcircle.dto;
+
+// Oturum listeleri (/my-sessions, /my-created-sessions) için kart: parçalar yüklenmez,
+// ilerleme session_progress sayaçlarından, "benim parçalarım" tek sayımla gelir
+public class SessionCard {
+
+    private final Long id;
+    private final String code;
+    private final String description;
+    private final String creatorName;
+    private final int participants;
+    private final long revision;
+    private final long parts;
+    private final long takenParts;
+    private final long completedParts;
+    private final long units;
+    private final long completedUnits;
+    private final long myParts;
+    private final long myCompletedParts;
+
+    public SessionCard(Long id, String code, String description, String creatorName, int participants, long revision,
+                       long parts, long takenParts, long completedParts, long units, long completedUnits,
+                       long myParts, long myCompletedParts) {
+        this.id = id;
+        this.code = code;
+        this.description = description;
+        this.creatorName = creatorName;
+        this.participants = participants;
+        this.revision = revision;
+        this.parts = parts;
+        this.takenParts = takenParts;
+        this.completedParts = completedParts;
+        this.units = units;
+        this.completedUnits = completedUnits;
+        this.myParts = myParts;
+        this.myCompletedParts = myCompletedParts;
+    }
+
+    public Long getId() { return id; }
+    public String getCode() { return code; }
+    public String getDescription() { return description; }
+    public String getCreatorName() { return creatorName; }
+    public int getParticipants() { return participants; }
+    public long getRevision() { return revision; }
+    public long getParts() { return parts; }
+    public long getTakenParts() { return takenParts; }
+    public long getCompletedParts() { return completedParts; }
+    public long getUnits() { return units; }
+    public long getCompletedUnits() { return completedUnits; }
+    public long getMyParts() { return myParts; }
+    public long getMyCompletedParts() { return myCompletedParts; }
+}
@@ -0,0 +1,19 @@
+package com.readcircle.dto;
+
+import java.util.List;
+
+// Kimliğe göre (büyükten küçüğe) sayfalı oturum kartları; sonraki sayfa ?before=nextBefore ile istenir,
+// son sayfada nextBefore null'dır
+public class SessionCardPage {
+
+    private final List<SessionCard> items;
+    private final Long nextBefore;
+
+    public SessionCardPage(List<SessionCard> items, Long nextBefore) {
+        this.items = items;
+        this.nextBefore = nextBefore;
+    }
+
+    public List<SessionCard> getItems() { return items; }
+    public Long getNextBefore() { return nextBefore; }
+}
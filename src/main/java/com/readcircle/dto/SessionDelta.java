@@ -0,0 +1,34 @@
+package com.readcircle.dto;
+
+import java.util.List;
+
+// GET /get/{code}?sinceRevision=N cevabı. fullResync true ise istemci oturumu baştan yüklemelidir;
+// aksi halde "assignments" sadece N'den sonra değişen parçaları içerir.
+// Sanal (negatif kimlikli) bir parça alındığında satırı oluşur ve yeni kimlikle gelir; "replacedVirtualIds",
+// değişen satırların yerini aldığı sanal kimliklerdir ve istemci bunları listesinden çıkarmalıdır.
+public class SessionDelta {
+
+    private final String code;
+    private final long sinceRevision;
+    private final long revision;
+    private final boolean fullResync;
+    private final List<AssignmentView> assignments;
+    private final List<Long> replacedVirtualIds;
+
+    public SessionDelta(String code, long sinceRevision, long revision, boolean fullResync,
+                        List<AssignmentView> assignments, List<Long> replacedVirtualIds) {
+        this.code = code;
+        this.sinceRevision = sinceRevision;
+        this.revision = revision;
+        this.fullResync = fullResync;
+        this.assignments = assignments;
+        this.replacedVirtualIds = replacedVirtualIds;
+    }
+
+    public String getCode() { return code; }
+    public long getSinceRevision() { return sinceRevision; }
+    public long getRevision() { return revision; }
+    public boolean isFullResync() { return fullResync; }
+    public List<AssignmentView> getAssignments() { return assignments; }
+    public List<Long> getReplacedVirtualIds() { return replacedVirtualIds; }
+}
@@ -0,0 +1,34 @@
+package com.readcircle.dto;
+
+import java.util.List;
+
+// GET /{code}/summary cevabı: parça listesi yerine kaynak başına toplamlar
+public class SessionSummary {
+
+    private final String code;
+    private final String description;
+    private final int participants;
+    private final long revision;
+    private final long readers;
+    private final List<ResourceProgress> progress;
+    private final List<ResourceSummary> resources;
+
+    public SessionSummary(String code, String description, int participants, long revision, long readers,
+                          List<ResourceProgress> progress, List<ResourceSummary> resources) {
+        this.code = code;
+        this.description = description;
+        this.participants = participants;
+        this.revision = revision;
+        this.readers = readers;
+        this.progress = progress;
+        this.resources = resources;
+    }
+
+    public String getCode() { return code; }
+    public String getDescription() { return description; }
+    public int getParticipants() { return participants; }
+    public long getRevision() { return revision; }
+    public long getReaders() { return readers; }
+    public List<ResourceProgress> getProgress() { return progress; }
+    public List<ResourceSummary> getResources() { return resources; }
+}
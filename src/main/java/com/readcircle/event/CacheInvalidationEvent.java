@@ -0,0 +1,39 @@
+package com.readcircle.event;
+
+// Başka bir uygulama örneğinden (düğüm) gelen önbellek geçersizleştirme duyurusu.
+// SESSION: oturum o düğümde değişti (kod ve yeni revizyon). CATALOG: kaynak kataloğu yeniden seed edildi.
+// ALL: veritabanı sıfırlandı ya da duyurular kaçırılmış olabilir (bağlantı koptu); bellekteki her şey geçersizdir.
+public class CacheInvalidationEvent {
+
+    public enum Scope { SESSION, CATALOG, ALL }
+
+    private final Scope scope;
+    private final String code;
+    private final long revision;
+
+    private CacheInvalidationEvent(Scope scope, String code, long revision) {
+        this.scope = scope;
+        this.code = code;
+        this.revision = revision;
+    }
+
+    public static CacheInvalidationEvent session(String code, long revision) {
+        return new CacheInvalidationEvent(Scope.SESSION, code, revision);
+    }
+
+    public static CacheInvalidationEvent catalog() {
+        return new CacheInvalidationEvent(Scope.CATALOG, null, 0);
+    }
+
+    public static CacheInvalidationEvent all() {
+        return new CacheInvalidationEvent(Scope.ALL, null, 0);
+    }
+
+    public Scope getScope() { return scope; }
+    public String getCode() { return code; }
+    public long getRevision() { return revision; }
+
+    public boolean isAll() { return scope == Scope.ALL; }
+
+    public boolean affectsCatalog() { return scope == Scope.CATALOG || scope == Scope.ALL; }
+}
@@ -0,0 +1,12 @@
+package com.readcircle.event;
+
+public enum SessionChangeType {
+    CLAIMED,
+    CANCELLED,
+    PROGRESS,
+    COMPLETED,
+    LEFT,
+    RESET,
+    RESOURCE_ADDED,
+    DELETED
+}
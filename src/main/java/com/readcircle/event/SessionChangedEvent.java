@@ -0,0 +1,40 @@
+package com.readcircle.event;
+
+// DistributionService'teki her değişiklikten sonra yayınlanan küçük fark (delta) olayı.
+// Parça bazlı olmayan olaylarda (RESET, LEFT, ...) parça alanları boş kalır.
+public class SessionChangedEvent {
+
+    private final String code;
+    private final SessionChangeType type;
+    private final long revision;
+    private final Long assignmentId;
+    private final Long resourceId;
+    private final Integer participantNumber;
+    private final String assignedToName;
+    private final Integer currentCount;
+
+    public SessionChangedEvent(String code, SessionChangeType type, long revision, Long assignmentId, Long resourceId,
+                               Integer participantNumber, String assignedToName, Integer currentCount) {
+        this.code = code;
+        this.type = type;
+        this.revision = revision;
+        this.assignmentId = assignmentId;
+        this.resourceId = resourceId;
+        this.participantNumber = participantNumber;
+        this.assignedToName = assignedToName;
+        this.currentCount = currentCount;
+    }
+
+    public static SessionChangedEvent of(String code, SessionChangeType type, long revision) {
+        return new SessionChangedEvent(code, type, revision, null, null, null, null, null);
+    }
+
+    public String getCode() { return code; }
+    public SessionChangeType getType() { return type; }
+    public long getRevision() { return revision; }
+    public Long getAssignmentId() { return assignmentId; }
+    public Long getResourceId() { return resourceId; }
+    public Integer getParticipantNumber() { return participantNumber; }
+    public String getAssignedToName() { return assignedToName; }
+    public Integer getCurrentCount() { return currentCount; }
+}
@@ -0,0 +1,8 @@
+package com.readcircle.exception;
+
+// Parça, koşullu UPDATE yarışında başka bir katılımcı tarafından alındığında fırlatılır.
+public class AssignmentAlreadyTakenException extends RuntimeException {
+    public AssignmentAlreadyTakenException() {
+        super("ALREADY_TAKEN");
+    }
+}
@@ -0,0 +1,8 @@
+package com.readcircle.exception;
+
+// İstenen parça, oturum ya da kaynak yok; uç noktalar bunu 404'e çevirir, diğer hatalar olduğu gibi yayılır.
+public class NotFoundException extends RuntimeException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -5,10 +5,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+        // Katılımcı grubu (aynı kaynak + aynı katılımcı numarası) üzerindeki claim/complete/cancel sorguları için
+        @Index(name = "idx_assignments_group", columnList = "session_id, resource_id, participant_number"),
+        // "Katıldığım halkalar" (oturum kimliğine göre sayfalı) ve halkadan ayrılma sorguları için
+        @Index(name = "idx_assignments_name_session", columnList = "assigned_to_name, session_id"),
+        // ?sinceRevision=N fark sorgusu için
+        @Index(name = "idx_assignments_session_revision", columnList = "session_id, last_modified_revision")
+})
 public class Assignment {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY, Hibernate'in INSERT'leri toplu (batch) göndermesini engeller; havuzlu sekans ile
+    // her 50 kimlik tek bir sekans çağrısıyla alınır ve saveAll tek round-trip'te yazılır.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignments_seq")
+    @SequenceGenerator(name = "assignments_seq", sequenceName = "assignments_seq", allocationSize = Assignment.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(optional = true)
@@ -44,6 +56,11 @@ public class Assignment {
     @Column(nullable = true)
     private Integer currentCount;
 
+    // Bu satırı son değiştiren oturum revizyonu
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonIgnore
+    private long lastModifiedRevision = 0;
+
     // --- GETTER & SETTER ---
 
     // Bu getter'a da anotasyon ekleyelim garanti olsun
@@ -56,6 +73,9 @@ public class Assignment {
         isCompleted = completed;
     }
 
+    public long getLastModifiedRevision() { return lastModifiedRevision; }
+    public void setLastModifiedRevision(long lastModifiedRevision) { this.lastModifiedRevision = lastModifiedRevision; }
+
     // Diğer Getter Setterlar (Aynı kalacak)
     public Integer getCurrentCount() { return currentCount; }
     public void setCurrentCount(Integer currentCount) { this.currentCount = currentCount; }
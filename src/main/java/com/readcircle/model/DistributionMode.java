@@ -0,0 +1,8 @@
+package com.readcircle.model;
+
+public enum DistributionMode {
+    // Her katılımcıya aynı hedef (1..totalUnits) verilir (JOINT kaynaklar)
+    SHARED,
+    // totalUnits katılımcılara sırayla bölünür, her katılımcıya tek aralık düşer
+    LINEAR
+}
@@ -1,11 +1,15 @@
 package com.readcircle.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        // "Oluşturduğum halkalar" listesi oturum kimliğine göre sayfalanır
+        @Index(name = "idx_sessions_creator_id", columnList = "creator_name, id")
+})
 public class DistributionSession {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +24,15 @@ public class DistributionSession {
 
      private int participants;
 
+    // Her DistributionService değişikliğinde bir artar; istemciler "şu revizyondan sonrası" ile fark çeker
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long revision = 0;
+
+    // Bu revizyondan eski istemciler fark yerine tam yeniden yükleme yapmalıdır (sıfırlama, kaynak ekleme)
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonIgnore
+    private long deltaBaseRevision = 0;
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<Assignment> assignments;
@@ -27,6 +40,11 @@ public class DistributionSession {
     public int getParticipants() { return participants; }
     public void setParticipants(int participants) { this.participants = participants; }
 
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+    public long getDeltaBaseRevision() { return deltaBaseRevision; }
+    public void setDeltaBaseRevision(long deltaBaseRevision) { this.deltaBaseRevision = deltaBaseRevision; }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getCode() { return code; }
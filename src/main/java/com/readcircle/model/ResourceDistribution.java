@@ -0,0 +1,98 @@
+package com.readcircle.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+// Katılımcı başına tek parça üreten dağıtımların özeti (toplam, katılımcı sayısı, dağıtım kuralı).
+// Bu dağıtımlarda Assignment satırı ancak biri parçayı aldığında oluşturulur; alınmamış parçalar
+// okuma sırasında bu tanımdan hesaplanır ve negatif (sanal) kimliklerle sunulur.
+@Entity
+@Table(name = "resource_distributions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "resource_id"}))
+public class ResourceDistribution {
+
+    // Sanal kimlik = -(dağıtım id * STRIDE + katılımcı no)
+    public static final long VIRTUAL_ID_STRIDE = 10_000_000L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "session_id")
+    @JsonIgnore
+    private DistributionSession session;
+
+    @ManyToOne
+    @JoinColumn(name = "resource_id")
+    private Resource resource;
+
+    private int participants;
+
+    private int totalUnits;
+
+    @Enumerated(EnumType.STRING)
+    private DistributionMode mode;
+
+    public boolean hasSlot(int participantNumber) {
+        return participantNumber >= 1 && participantNumber <= participants && unitCount(participantNumber) > 0;
+    }
+
+    public int startUnit(int participantNumber) {
+        if (mode == DistributionMode.SHARED) return 1;
+        int index = participantNumber - 1;
+        int baseAmount = totalUnits / participants;
+        int remainder = totalUnits % participants;
+        return 1 + index * baseAmount + Math.min(index, remainder);
+    }
+
+    public int endUnit(int participantNumber) {
+        return startUnit(participantNumber) + unitCount(participantNumber) - 1;
+    }
+
+    public int unitCount(int participantNumber) {
+        if (mode == DistributionMode.SHARED) return totalUnits;
+        int index = participantNumber - 1;
+        return totalUnits / participants + (index < totalUnits % participants ? 1 : 0);
+    }
+
+    // Tüm dağıtımın birim toplamı
+    public long totalDistributedUnits() {
+        return mode == DistributionMode.SHARED ? (long) totalUnits * participants : totalUnits;
+    }
+
+    // Birimi olan (alınabilir) parça sayısı
+    public int slotCount() {
+        if (totalUnits <= 0) return 0;
+        return mode == DistributionMode.SHARED ? participants : Math.min(participants, totalUnits);
+    }
+
+    public long virtualId(int participantNumber) {
+        return -(id * VIRTUAL_ID_STRIDE + participantNumber);
+    }
+
+    public static boolean isVirtualId(Long assignmentId) {
+        return assignmentId != null && assignmentId < 0;
+    }
+
+    public static long distributionIdOf(long virtualId) {
+        return (-virtualId) / VIRTUAL_ID_STRIDE;
+    }
+
+    public static int participantNumberOf(long virtualId) {
+        return (int) ((-virtualId) % VIRTUAL_ID_STRIDE);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public DistributionSession getSession() { return session; }
+    public void setSession(DistributionSession session) { this.session = session; }
+    public Resource getResource() { return resource; }
+    public void setResource(Resource resource) { this.resource = resource; }
+    public int getParticipants() { return participants; }
+    public void setParticipants(int participants) { this.participants = participants; }
+    public int getTotalUnits() { return totalUnits; }
+    public void setTotalUnits(int totalUnits) { this.totalUnits = totalUnits; }
+    public DistributionMode getMode() { return mode; }
+    public void setMode(DistributionMode mode) { this.mode = mode; }
+}
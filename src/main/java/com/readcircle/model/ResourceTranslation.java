@@ -21,6 +21,10 @@ public class ResourceTranslation {
      @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Metnin metin deposundaki (TextStoreService) SHA-256 özeti
+    @Column(length = 64)
+    private String contentHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "resource_id")
     @JsonIgnore
@@ -58,6 +62,14 @@ public class ResourceTranslation {
         this.description = description;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public String getUnitName() {
         return unitName;
     }
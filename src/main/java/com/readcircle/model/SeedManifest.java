@@ -0,0 +1,38 @@
+package com.readcircle.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Bir kaynağın en son hangi kaynak dosyaları/tanımla seed edildiğinin özeti.
+// DataSeeder özet değişmediyse kaynağın metinlerini yeniden yazmaz.
+@Entity
+@Table(name = "seed_manifest")
+public class SeedManifest {
+
+    @Id
+    private String codeKey;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    private LocalDateTime seededAt;
+
+    public SeedManifest() {
+    }
+
+    public SeedManifest(String codeKey, String checksum) {
+        this.codeKey = codeKey;
+        this.checksum = checksum;
+        this.seededAt = LocalDateTime.now();
+    }
+
+    public String getCodeKey() { return codeKey; }
+    public void setCodeKey(String codeKey) { this.codeKey = codeKey; }
+
+    public String getChecksum() { return checksum; }
+    public void setChecksum(String checksum) { this.checksum = checksum; }
+
+    public LocalDateTime getSeededAt() { return seededAt; }
+    public void setSeededAt(LocalDateTime seededAt) { this.seededAt = seededAt; }
+}
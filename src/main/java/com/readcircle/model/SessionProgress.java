@@ -0,0 +1,51 @@
+package com.readcircle.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+// Oturumdaki bir kaynağın canlı sayaçları. Parça/birim toplamları oturum kurulurken yazılır;
+// alınan ve tamamlanan değerler DistributionService'teki değişikliklerle aynı işlemde (x = x + ?) güncellenir.
+// Kayma olursa SessionProgressService'in kontrol görevi satırları yeniden hesaplar.
+@Entity
+@Table(name = "session_progress",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"session_id", "resource_id"}))
+public class SessionProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "session_id")
+    @JsonIgnore
+    private DistributionSession session;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    private long parts;
+    private long takenParts;
+    private long completedParts;
+    private long units;
+    private long takenUnits;
+    private long completedUnits;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public DistributionSession getSession() { return session; }
+    public void setSession(DistributionSession session) { this.session = session; }
+    public Long getResourceId() { return resourceId; }
+    public void setResourceId(Long resourceId) { this.resourceId = resourceId; }
+    public long getParts() { return parts; }
+    public void setParts(long parts) { this.parts = parts; }
+    public long getTakenParts() { return takenParts; }
+    public void setTakenParts(long takenParts) { this.takenParts = takenParts; }
+    public long getCompletedParts() { return completedParts; }
+    public void setCompletedParts(long completedParts) { this.completedParts = completedParts; }
+    public long getUnits() { return units; }
+    public void setUnits(long units) { this.units = units; }
+    public long getTakenUnits() { return takenUnits; }
+    public void setTakenUnits(long takenUnits) { this.takenUnits = takenUnits; }
+    public long getCompletedUnits() { return completedUnits; }
+    public void setCompletedUnits(long completedUnits) { this.completedUnits = completedUnits; }
+}
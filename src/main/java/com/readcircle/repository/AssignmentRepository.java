@@ -1,19 +1,124 @@
 package com.readcircle.repository;
 
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.ProgressTarget;
+import com.readcircle.dto.ResourceProgress;
 import com.readcircle.model.Assignment;
 import com.readcircle.model.DistributionSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findBySession_Id(Long sessionId);
 
+    @Query("SELECT new com.readcircle.dto.AssignmentView(a.id, a.resource.id, a.participantNumber, a.startUnit, a.endUnit, " +
+            "a.isTaken, a.isCompleted, a.assignedToName, a.currentCount) " +
+            "FROM Assignment a WHERE a.session.id = :sessionId ORDER BY a.id")
+    List<AssignmentView> findViewsBySessionId(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT new com.readcircle.dto.AssignmentView(a.id, a.resource.id, a.participantNumber, a.startUnit, a.endUnit, " +
+            "a.isTaken, a.isCompleted, a.assignedToName, a.currentCount) " +
+            "FROM Assignment a WHERE a.session.id = :sessionId AND a.lastModifiedRevision > :sinceRevision ORDER BY a.id")
+    List<AssignmentView> findViewsChangedSince(@Param("sessionId") Long sessionId, @Param("sinceRevision") long sinceRevision);
+
+    @Query("SELECT new com.readcircle.dto.AssignmentView(a.id, a.resource.id, a.participantNumber, a.startUnit, a.endUnit, " +
+            "a.isTaken, a.isCompleted, a.assignedToName, a.currentCount) " +
+            "FROM Assignment a WHERE a.session.id = :sessionId AND a.id IN :ids")
+    List<AssignmentView> findViewsByIds(@Param("sessionId") Long sessionId, @Param("ids") Collection<Long> ids);
+
+    // Kaynak başına toplamlar; parçalar katılımcı numarasına göre sayılır
+    String PROGRESS_SELECT = "SELECT new com.readcircle.dto.ResourceProgress(a.resource.id, " +
+            "COUNT(DISTINCT a.participantNumber), " +
+            "COUNT(DISTINCT CASE WHEN a.isTaken = true THEN a.participantNumber END), " +
+            "COUNT(DISTINCT CASE WHEN a.isCompleted = true THEN a.participantNumber END), " +
+            "SUM(a.endUnit - a.startUnit + 1), " +
+            "SUM(CASE WHEN a.isTaken = true THEN a.endUnit - a.startUnit + 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.isCompleted = true THEN a.endUnit - a.startUnit + 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.isCompleted = false THEN COALESCE(a.currentCount, 0) ELSE 0 END), " +
+            "COUNT(DISTINCT a.assignedToName)) ";
+
+    @Query(PROGRESS_SELECT + "FROM Assignment a WHERE a.session.id = :sessionId GROUP BY a.resource.id ORDER BY a.resource.id")
+    List<ResourceProgress> summarizeBySessionId(@Param("sessionId") Long sessionId);
+
+    // Verilen parçaların ait olduğu grupların (kaynak + katılımcı no) toplamları; sayaç farkı için önce/sonra okunur
+    @Query(PROGRESS_SELECT + "FROM Assignment a WHERE a.session.id = :sessionId AND EXISTS (" +
+            "SELECT b.id FROM Assignment b WHERE b.id IN :ids AND b.resource.id = a.resource.id " +
+            "AND b.participantNumber = a.participantNumber) GROUP BY a.resource.id")
+    List<ResourceProgress> summarizeGroupsOf(@Param("sessionId") Long sessionId, @Param("ids") Collection<Long> ids);
+
+    @Query(PROGRESS_SELECT + "FROM Assignment a WHERE a.session.id = :sessionId AND a.assignedToName = :name " +
+            "GROUP BY a.resource.id")
+    List<ResourceProgress> summarizeForUser(@Param("sessionId") Long sessionId, @Param("name") String name);
+
+    @Query("SELECT COUNT(DISTINCT a.assignedToName) FROM Assignment a WHERE a.session.id = :sessionId")
+    long countReaders(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT new com.readcircle.dto.ProgressTarget(a.id, a.session.id, a.session.code, a.resource.id, " +
+            "a.participantNumber, a.assignedToName, a.isCompleted) FROM Assignment a WHERE a.id = :id")
+    ProgressTarget findProgressTarget(@Param("id") Long id);
+
     @Query("SELECT DISTINCT a.session FROM Assignment a WHERE a.assignedToName = :name")
     List<DistributionSession> findSessionsByUserName(@Param("name") String name);
 
+    // Tek atomik koşullu UPDATE: grubu sadece hâlâ boştaysa alır. Etkilenen satır sayısı 0 ise yarış kaybedilmiştir.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Assignment a SET a.isTaken = true, a.assignedToName = :name, a.lastModifiedRevision = :revision " +
+            "WHERE a.session.id = :sessionId AND a.resource.id = :resourceId " +
+            "AND a.participantNumber = :participantNumber AND a.isTaken = false")
+    int claimGroup(@Param("sessionId") Long sessionId,
+                   @Param("resourceId") Long resourceId,
+                   @Param("participantNumber") int participantNumber,
+                   @Param("name") String name,
+                   @Param("revision") long revision);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Assignment a SET a.isCompleted = true, a.currentCount = 0, a.lastModifiedRevision = :revision " +
+            "WHERE a.session.id = :sessionId AND a.resource.id = :resourceId " +
+            "AND a.participantNumber = :participantNumber AND a.assignedToName = :name")
+    int completeGroup(@Param("sessionId") Long sessionId,
+                      @Param("resourceId") Long resourceId,
+                      @Param("participantNumber") int participantNumber,
+                      @Param("name") String name,
+                      @Param("revision") long revision);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Assignment a SET a.isTaken = false, a.assignedToName = null, a.isCompleted = false, " +
+            "a.currentCount = a.endUnit - a.startUnit + 1, a.lastModifiedRevision = :revision " +
+            "WHERE a.session.id = :sessionId AND a.resource.id = :resourceId " +
+            "AND a.participantNumber = :participantNumber AND a.assignedToName = :name")
+    int cancelGroup(@Param("sessionId") Long sessionId,
+                    @Param("resourceId") Long resourceId,
+                    @Param("participantNumber") int participantNumber,
+                    @Param("name") String name,
+                    @Param("revision") long revision);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Assignment a SET a.isTaken = false, a.assignedToName = null, a.isCompleted = false, a.currentCount = 0, " +
+            "a.lastModifiedRevision = :revision " +
+            "WHERE a.session.id = :sessionId AND a.assignedToName = :name")
+    int releaseAllForUser(@Param("sessionId") Long sessionId, @Param("name") String name, @Param("revision") long revision);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Assignment a SET a.isTaken = false, a.assignedToName = null, a.isCompleted = false, " +
+            "a.currentCount = a.endUnit - a.startUnit + 1, a.lastModifiedRevision = :revision WHERE a.session.id = :sessionId")
+    int resetAllInSession(@Param("sessionId") Long sessionId, @Param("revision") long revision);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Assignment a WHERE a.session.id = :sessionId AND a.resource.id IN " +
+            "(SELECT d.resource.id FROM ResourceDistribution d WHERE d.session.id = :sessionId)")
+    int deleteMaterializedSlots(@Param("sessionId") Long sessionId);
+
+    boolean existsBySession_IdAndResource_Id(Long sessionId, Long resourceId);
+
+    boolean existsBySession_IdAndAssignedToName(Long sessionId, String assignedToName);
+
+    Assignment findFirstBySession_IdAndResource_IdAndParticipantNumber(Long sessionId, Long resourceId, int participantNumber);
+
     List<Assignment> findBySession_CodeAndAssignedToName(String sessionCode, String assignedToName);
     void deleteBySession_Id(Long sessionId);
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.readcircle.repository;
 
+import com.readcircle.dto.SessionCard;
 import com.readcircle.model.DistributionSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DistributionSessionRepository extends JpaRepository<DistributionSession, Long> {
@@ -17,4 +23,49 @@ public interface DistributionSessionRepository extends JpaRepository<Distributio
     DistributionSession findByCodeWithAssignments(@Param("code") String code);
 
     List<DistributionSession> findByCreatorNameOrderByIdDesc(String creatorName);
+
+    // Oturum kartları: ilerleme session_progress satırlarının toplamı, "benim parçalarım" ilişkili sayım;
+    // sayfa başına tek sorgu. Sayfalama kimliğe göre (id < :before), OFFSET kullanılmaz.
+    // Sayaçlar gibi parça = kaynak + katılımcı no: sarmalanan (birden çok satırlı) parçanın sadece ilk satırı sayılır.
+    String MY_PART = "SELECT COUNT(m) FROM Assignment m WHERE m.session.id = s.id AND m.assignedToName = :name " +
+            "AND NOT EXISTS (SELECT n.id FROM Assignment n WHERE n.session.id = m.session.id " +
+            "AND n.resource.id = m.resource.id AND n.participantNumber = m.participantNumber AND n.id < m.id)";
+    String CARD_SELECT = "SELECT new com.readcircle.dto.SessionCard(s.id, s.code, s.description, s.creatorName, " +
+            "s.participants, s.revision, COALESCE(SUM(p.parts), 0), COALESCE(SUM(p.takenParts), 0), " +
+            "COALESCE(SUM(p.completedParts), 0), COALESCE(SUM(p.units), 0), COALESCE(SUM(p.completedUnits), 0), " +
+            "(" + MY_PART + "), (" + MY_PART + " AND m.isCompleted = true)) " +
+            "FROM DistributionSession s LEFT JOIN SessionProgress p ON p.session.id = s.id ";
+    String CARD_GROUP = "GROUP BY s.id, s.code, s.description, s.creatorName, s.participants, s.revision " +
+            "ORDER BY s.id DESC";
+
+    @Query(CARD_SELECT + "WHERE s.creatorName = :name AND s.id < :before " + CARD_GROUP)
+    List<SessionCard> findCreatedCards(@Param("name") String name, @Param("before") long before, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE s.id IN (SELECT a.session.id FROM Assignment a WHERE a.assignedToName = :name " +
+            "AND a.session.id < :before) " + CARD_GROUP)
+    List<SessionCard> findJoinedCards(@Param("name") String name, @Param("before") long before, Pageable pageable);
+
+    // Oturum satırını kilitler: aynı oturumdaki değişiklikler revizyon sırasıyla commit edilir
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DistributionSession s SET s.revision = s.revision + 1 WHERE s.id = :id")
+    int incrementRevision(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DistributionSession s SET s.deltaBaseRevision = s.revision WHERE s.id = :id")
+    int resetDeltaBase(@Param("id") Long id);
+
+    @Query("SELECT s.revision FROM DistributionSession s WHERE s.id = :id")
+    Long findRevisionById(@Param("id") Long id);
+
+    // Revizyonu artırmadan kilit (tutarlılık kontrolü gibi okuyup düzelten işler için)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DistributionSession s WHERE s.id = :id")
+    Optional<DistributionSession> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT s.id FROM DistributionSession s WHERE s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // ETag kontrolü için: oturumun sadece revizyonu okunur, parçalar yüklenmez
+    @Query("SELECT s.revision FROM DistributionSession s WHERE s.code = :code")
+    Long findRevisionByCode(@Param("code") String code);
 }
\ No newline at end of file
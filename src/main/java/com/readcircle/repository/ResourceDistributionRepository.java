@@ -0,0 +1,29 @@
+package com.readcircle.repository;
+
+import com.readcircle.model.ResourceDistribution;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ResourceDistributionRepository extends JpaRepository<ResourceDistribution, Long> {
+
+    List<ResourceDistribution> findBySession_Id(Long sessionId);
+
+    boolean existsBySession_IdAndResource_Id(Long sessionId, Long resourceId);
+
+    // Kilit almadan oturum kimliği: oturum satırı dağıtım satırından önce kilitlenebilsin diye
+    @Query("SELECT d.session.id FROM ResourceDistribution d WHERE d.id = :id")
+    Optional<Long> findSessionIdById(@Param("id") Long id);
+
+    // Sanal parçanın satıra dönüştürülmesi bu satır kilitlenerek sıraya sokulur
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM ResourceDistribution d WHERE d.id = :id")
+    Optional<ResourceDistribution> findByIdForUpdate(@Param("id") Long id);
+
+    void deleteBySession_Id(Long sessionId);
+}
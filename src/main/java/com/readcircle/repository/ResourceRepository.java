@@ -2,7 +2,14 @@ package com.readcircle.repository;
 
 import com.readcircle.model.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     Resource findByCodeKey(String codeKey);
-}
\ No newline at end of file
+
+    // Katalog kurulurken çeviriler tek sorguda gelir (kaynak başına ayrı sorgu atılmaz)
+    @Query("SELECT DISTINCT r FROM Resource r LEFT JOIN FETCH r.translations ORDER BY r.id")
+    List<Resource> findAllWithTranslations();
+}
@@ -0,0 +1,23 @@
+package com.readcircle.repository;
+
+import com.readcircle.model.ResourceTranslation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ResourceTranslationRepository extends JpaRepository<ResourceTranslation, Long> {
+
+    @Query("SELECT t.description FROM ResourceTranslation t WHERE t.resource.id = :resourceId AND t.langCode = :lang")
+    String findDescription(@Param("resourceId") Long resourceId, @Param("lang") String lang);
+
+    @Query("SELECT t.contentHash FROM ResourceTranslation t WHERE t.resource.id = :resourceId AND t.langCode = :lang")
+    String findContentHash(@Param("resourceId") Long resourceId, @Param("lang") String lang);
+
+    // Metni olan çevirilerin [codeKey, contentHash] çiftleri; seed sırasında depoda eksik metni olan
+    // (ya da henüz özeti hesaplanmamış) kaynakları bulmak için
+    @Query("SELECT r.codeKey, t.contentHash FROM ResourceTranslation t JOIN t.resource r " +
+            "WHERE t.contentHash IS NOT NULL OR t.description IS NOT NULL")
+    List<Object[]> findContentHashesByCodeKey();
+}
@@ -0,0 +1,14 @@
+package com.readcircle.repository;
+
+import com.readcircle.model.SeedManifest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface SeedManifestRepository extends JpaRepository<SeedManifest, String> {
+
+    // Kaynağı silinmiş kayıtlar döndürülmez; o kaynaklar yeniden seed edilir
+    @Query("SELECT m FROM SeedManifest m WHERE EXISTS (SELECT r.id FROM Resource r WHERE r.codeKey = m.codeKey)")
+    List<SeedManifest> findAllForExistingResources();
+}
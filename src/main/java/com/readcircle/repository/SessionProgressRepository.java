@@ -0,0 +1,43 @@
+package com.readcircle.repository;
+
+import com.readcircle.dto.ProgressCounters;
+import com.readcircle.model.SessionProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SessionProgressRepository extends JpaRepository<SessionProgress, Long> {
+
+    List<SessionProgress> findBySession_Id(Long sessionId);
+
+    @Query("SELECT new com.readcircle.dto.ProgressCounters(s.code, p.resourceId, p.parts, p.takenParts, p.completedParts, " +
+            "p.units, p.takenUnits, p.completedUnits) " +
+            "FROM SessionProgress p JOIN p.session s WHERE s.code IN :codes ORDER BY s.id, p.resourceId")
+    List<ProgressCounters> findCountersByCodes(@Param("codes") Collection<String> codes);
+
+    // Atomik artırım: aynı satıra gelen eşzamanlı değişiklikler birbirini ezmez
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SessionProgress p SET p.takenParts = p.takenParts + :takenParts, " +
+            "p.completedParts = p.completedParts + :completedParts, " +
+            "p.takenUnits = p.takenUnits + :takenUnits, p.completedUnits = p.completedUnits + :completedUnits " +
+            "WHERE p.session.id = :sessionId AND p.resourceId = :resourceId")
+    int add(@Param("sessionId") Long sessionId,
+            @Param("resourceId") Long resourceId,
+            @Param("takenParts") long takenParts,
+            @Param("completedParts") long completedParts,
+            @Param("takenUnits") long takenUnits,
+            @Param("completedUnits") long completedUnits);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SessionProgress p SET p.takenParts = 0, p.completedParts = 0, p.takenUnits = 0, p.completedUnits = 0 " +
+            "WHERE p.session.id = :sessionId")
+    int clearTaken(@Param("sessionId") Long sessionId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SessionProgress p WHERE p.session.id = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,92 @@
+package com.readcircle.service;
+
+import com.readcircle.model.User;
+import com.readcircle.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Giriş ve kayıt. BCrypt (kasıtlı olarak yavaş) Tomcat thread'lerinde değil, sınırlı bir havuzda çalışır.
+// Kuyruk doluysa iş beklemeye alınmaz, RejectedExecutionException ile hemen reddedilir (çağıran 503 döner);
+// böylece toplu giriş anlarında diğer istekler thread beklemez. Kullanıcı sorgusu da havuzda yapılır ki
+// cevabı bekleyen istek (open-in-view nedeniyle) bir veritabanı bağlantısını tutmasın.
+@Service
+public class AuthService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final ThreadPoolExecutor executor;
+
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+                       RefreshTokenService refreshTokenService,
+                       @Value("${app.auth.password-threads:0}") int threads,
+                       @Value("${app.auth.password-queue:64}") int queueCapacity) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "auth-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Kullanıcı adı zaten alınmışsa false; havuz doluysa RejectedExecutionException
+    public CompletableFuture<Boolean> register(User user) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (userRepository.findByUsername(user.getUsername()).isPresent()) return false;
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            userRepository.save(user);
+            return true;
+        }, executor);
+    }
+
+    // Bilgiler hatalıysa null; havuz doluysa RejectedExecutionException
+    public CompletableFuture<Map<String, String>> login(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> {
+            Optional<User> userOpt = userRepository.findByUsername(username);
+            if (userOpt.isEmpty() || !passwordEncoder.matches(password, userOpt.get().getPassword())) return null;
+            return tokens(userOpt.get().getUsername());
+        }, executor);
+    }
+
+    // Şifre doğrulaması yapılmadan yeni JWT (ve yeni yenileme token'ı) verir; eski yenileme token'ı tüketilir.
+    // Token geçersizse null
+    public Map<String, String> refresh(String refreshToken) {
+        String username = refreshTokenService.consume(refreshToken);
+        if (username == null || userRepository.findByUsername(username).isEmpty()) return null;
+        return tokens(username);
+    }
+
+    private Map<String, String> tokens(String username) {
+        Map<String, String> response = new HashMap<>();
+        response.put("token", jwtService.generateToken(username));
+        response.put("refreshToken", refreshTokenService.issue(username));
+        response.put("username", username);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
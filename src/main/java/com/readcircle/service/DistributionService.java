@@ -1,13 +1,34 @@
 package com.readcircle.service;
 
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.BatchItemResult;
+import com.readcircle.dto.BatchOperation;
+import com.readcircle.dto.BatchResult;
+import com.readcircle.dto.ProgressTarget;
+import com.readcircle.dto.ResourceProgress;
+import com.readcircle.event.SessionChangeType;
+import com.readcircle.event.SessionChangedEvent;
+import com.readcircle.exception.AssignmentAlreadyTakenException;
+import com.readcircle.exception.NotFoundException;
 import com.readcircle.model.*;
 import com.readcircle.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -16,6 +37,14 @@ public class DistributionService {
     private final DistributionSessionRepository sessionRepository;
     private final AssignmentRepository assignmentRepository;
     private final ResourceRepository resourceRepository;
+    private final ResourceDistributionRepository distributionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProgressBuffer progressBuffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionProgressService progressService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     // --- GRUP A: Adet (Kopya) Bazlı Çoğaltılacak Kaynaklar ---
     private static final List<String> MULTIPLIER_CODES = Arrays.asList(
@@ -26,12 +55,42 @@ public class DistributionService {
             "TEVHIDNAME"
     );
 
+    // Toplu istekte tür başına kullanılan koşullu UPDATE'ler (AssignmentRepository'deki claim/complete/cancelGroup ile aynı)
+    private static final Map<BatchOperation.Type, String> BATCH_SQL = Map.of(
+            BatchOperation.Type.TAKE,
+            "UPDATE assignments SET is_taken = true, assigned_to_name = ?, last_modified_revision = ? " +
+                    "WHERE session_id = ? AND resource_id = ? AND participant_number = ? AND is_taken = false",
+            BatchOperation.Type.COMPLETE,
+            "UPDATE assignments SET is_completed = true, current_count = 0, last_modified_revision = ? " +
+                    "WHERE session_id = ? AND resource_id = ? AND participant_number = ? AND assigned_to_name = ?",
+            BatchOperation.Type.CANCEL,
+            "UPDATE assignments SET is_taken = false, assigned_to_name = NULL, is_completed = false, " +
+                    "current_count = end_unit - start_unit + 1, last_modified_revision = ? " +
+                    "WHERE session_id = ? AND resource_id = ? AND participant_number = ? AND assigned_to_name = ?"
+    );
+
+    static final Map<BatchOperation.Type, SessionChangeType> BATCH_EVENTS = Map.of(
+            BatchOperation.Type.TAKE, SessionChangeType.CLAIMED,
+            BatchOperation.Type.COMPLETE, SessionChangeType.COMPLETED,
+            BatchOperation.Type.CANCEL, SessionChangeType.CANCELLED
+    );
+
     public DistributionService(DistributionSessionRepository sessionRepository,
                                AssignmentRepository assignmentRepository,
-                               ResourceRepository resourceRepository) {
+                               ResourceRepository resourceRepository,
+                               ResourceDistributionRepository distributionRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               ProgressBuffer progressBuffer,
+                               JdbcTemplate jdbcTemplate,
+                               SessionProgressService progressService) {
         this.sessionRepository = sessionRepository;
         this.assignmentRepository = assignmentRepository;
         this.resourceRepository = resourceRepository;
+        this.distributionRepository = distributionRepository;
+        this.eventPublisher = eventPublisher;
+        this.progressBuffer = progressBuffer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.progressService = progressService;
     }
 
     @Transactional
@@ -53,12 +112,9 @@ public class DistributionService {
         }
 
         if (resource.getType() == ResourceType.JOINT) {
-            // Ortak (Joint) kaynaklarda her katılımcıya girilen toplam hedef atanır
-            for (int i = 0; i < participantCount; i++) {
-                Assignment assignment = createAssignmentObj(session, resource, i + 1, 1, effectiveTotalUnits);
-                assignment.setCurrentCount(effectiveTotalUnits);
-                assignments.add(assignment);
-            }
+            // Ortak (Joint) kaynaklarda her katılımcıya girilen toplam hedef atanır.
+            // Satırlar önceden yazılmaz, parçalar alındıkça oluşturulur.
+            createVirtualDistribution(session, resource, participantCount, effectiveTotalUnits, DistributionMode.SHARED);
         } else {
             // Dağıtımlı kaynaklarda hesaplanan birimler üzerinden paylaştır
             distributeUnits(session, resource, participantCount, calculationUnits, assignments, true, isQuran);
@@ -68,22 +124,29 @@ public class DistributionService {
     @Transactional
     public void addResourceToSession(String code, Long resourceId, String username, Integer totalUnits) {
         DistributionSession session = sessionRepository.findByCode(code);
-        if (session == null) throw new RuntimeException("Oturum bulunamadı.");
+        if (session == null) throw new NotFoundException("Oturum bulunamadı.");
         if (!session.getCreatorName().equals(username)) {
             throw new RuntimeException("Bu işlem için yetkiniz yok.");
         }
 
         Resource resource = resourceRepository.findById(resourceId)
-                .orElseThrow(() -> new RuntimeException("Kaynak bulunamadı."));
+                .orElseThrow(() -> new NotFoundException("Kaynak bulunamadı."));
 
-        boolean alreadyExists = session.getAssignments().stream()
-                .anyMatch(a -> a.getResource().getId().equals(resourceId));
+        boolean alreadyExists = assignmentRepository.existsBySession_IdAndResource_Id(session.getId(), resourceId)
+                || distributionRepository.existsBySession_IdAndResource_Id(session.getId(), resourceId);
         if (alreadyExists) {
             throw new RuntimeException("Bu kaynak zaten bu halkada mevcut.");
         }
 
         // BURAYI GÜNCELLEYİN: totalUnits değerini createAssignments'a iletin
         createAssignments(session, resource, session.getParticipants(), totalUnits);
+
+        // Yeni (ve sanal) parçalar farkla ifade edilemez; eski istemciler tam yükleme yapar
+        long revision = nextRevision(session.getId());
+        progressService.rebuild(session);
+        sessionRepository.resetDeltaBase(session.getId());
+        eventPublisher.publishEvent(new SessionChangedEvent(code, SessionChangeType.RESOURCE_ADDED, revision,
+                null, resourceId, null, null, null));
     }
 
     @Transactional
@@ -137,11 +200,10 @@ public class DistributionService {
 
                 if (resource.getType() == ResourceType.JOINT &&
                         (customCountsMap == null || !customCountsMap.containsKey(resId))) {
-                    for (int i = 0; i < participantCount; i++) {
-                        Assignment assignment = createAssignmentObj(session, resource, i + 1, 1, totalUnits);
-                        assignment.setCurrentCount(totalUnits);
-                        assignments.add(assignment);
-                    }
+                    createVirtualDistribution(session, resource, participantCount, totalUnits, DistributionMode.SHARED);
+                } else if (!isMultiplierGroup) {
+                    // Düz dağıtımda her katılımcıya tek aralık düşer; bu da tanımdan hesaplanabilir
+                    createVirtualDistribution(session, resource, participantCount, calculationUnits, DistributionMode.LINEAR);
                 } else {
                     distributeUnits(session, resource, participantCount, calculationUnits, assignments, isMultiplierGroup, isQuran);
                 }
@@ -150,9 +212,44 @@ public class DistributionService {
 
         assignmentRepository.saveAll(assignments);
         session.setAssignments(assignments);
+        progressService.rebuild(session);
         return session;
     }
 
+    private void createVirtualDistribution(DistributionSession session, Resource resource, int participantCount,
+                                           int totalUnits, DistributionMode mode) {
+        ResourceDistribution distribution = new ResourceDistribution();
+        distribution.setSession(session);
+        distribution.setResource(resource);
+        distribution.setParticipants(participantCount);
+        distribution.setTotalUnits(totalUnits);
+        distribution.setMode(mode);
+        distributionRepository.save(distribution);
+    }
+
+    // Henüz alınmamış (satırı oluşmamış) parçaları bellekte üretir; bu nesneler kaydedilmez.
+    public static List<Assignment> virtualAssignments(ResourceDistribution distribution, Set<Integer> materializedParticipants) {
+        List<Assignment> virtual = new ArrayList<>();
+        for (int pNum = 1; pNum <= distribution.getParticipants(); pNum++) {
+            if (materializedParticipants.contains(pNum) || !distribution.hasSlot(pNum)) continue;
+            virtual.add(buildSlot(distribution, pNum));
+        }
+        return virtual;
+    }
+
+    private static Assignment buildSlot(ResourceDistribution distribution, int pNum) {
+        Assignment assignment = new Assignment();
+        assignment.setId(distribution.virtualId(pNum));
+        assignment.setSession(distribution.getSession());
+        assignment.setResource(distribution.getResource());
+        assignment.setParticipantNumber(pNum);
+        assignment.setStartUnit(distribution.startUnit(pNum));
+        assignment.setEndUnit(distribution.endUnit(pNum));
+        assignment.setCurrentCount(distribution.unitCount(pNum));
+        assignment.setTaken(false);
+        return assignment;
+    }
+
     private void distributeUnits(DistributionSession session, Resource resource, int participantCount, int calculationUnits, List<Assignment> assignments, boolean useWrapping, boolean isQuran) {
         int baseAmount = calculationUnits / participantCount;
         int remainder = calculationUnits % participantCount;
@@ -239,116 +336,322 @@ public class DistributionService {
     public DistributionSession getSessionByCode(String code) {
         DistributionSession session = sessionRepository.findByCodeWithAssignments(code);
         if (session == null) return sessionRepository.findByCode(code);
-        if (session.getAssignments() != null) {
-            session.getAssignments().forEach(a -> {
-                if (a.getResource() != null && a.getResource().getTranslations() != null) {
-                    a.getResource().getTranslations().size();
+
+        List<Assignment> assignments = new ArrayList<>(session.getAssignments() != null ? session.getAssignments() : List.of());
+        if (progressBuffer.hasPending(session.getId())) {
+            // Yazılmayı bekleyen sayaçlar gösterilir; entity'ler yönetimden çıkarıldığı için veritabanına yansımaz
+            entityManager.detach(session);
+            progressBuffer.overlayEntities(assignments);
+        }
+        List<ResourceDistribution> distributions = distributionRepository.findBySession_Id(session.getId());
+        if (!distributions.isEmpty()) {
+            // Sanal parçalar kalıcı değildir; oturum yönetimden çıkarılıp listeye eklenir
+            entityManager.detach(session);
+            for (ResourceDistribution distribution : distributions) {
+                Set<Integer> materialized = new HashSet<>();
+                for (Assignment a : assignments) {
+                    if (a.getResource().getId().equals(distribution.getResource().getId())) {
+                        materialized.add(a.getParticipantNumber());
+                    }
                 }
-            });
+                assignments.addAll(virtualAssignments(distribution, materialized));
+            }
+            session.setAssignments(assignments);
         }
+
+        assignments.forEach(a -> {
+            if (a.getResource() != null && a.getResource().getTranslations() != null) {
+                a.getResource().getTranslations().size();
+            }
+        });
         return session;
     }
 
     @Transactional
     public Assignment claimAssignment(Long assignmentId, String name) {
+        if (ResourceDistribution.isVirtualId(assignmentId)) {
+            return claimVirtualSlot(assignmentId, name);
+        }
+
         Assignment mainAssignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new RuntimeException("Parça bulunamadı"));
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı"));
 
         if (mainAssignment.isTaken()) {
-            if (!mainAssignment.getAssignedToName().equals(name)) {
-                throw new RuntimeException("Bu parça maalesef başkası tarafından alındı.");
+            if (!name.equals(mainAssignment.getAssignedToName())) {
+                throw new AssignmentAlreadyTakenException();
             }
             return mainAssignment;
         }
 
-        List<Assignment> relatedAssignments = assignmentRepository.findBySession_Id(mainAssignment.getSession().getId())
-                .stream()
-                .filter(a -> a.getResource().getId().equals(mainAssignment.getResource().getId())
-                        && a.getParticipantNumber() == mainAssignment.getParticipantNumber())
-                .toList();
+        Long sessionId = mainAssignment.getSession().getId();
+        long revision = nextRevision(sessionId);
+        Map<Long, ResourceProgress> before = progressService.groupTotals(sessionId, List.of(assignmentId));
+
+        // Kontrol ve güncelleme tek ifadede: aynı anda gelen isteklerden sadece biri satırları günceller
+        int claimed = assignmentRepository.claimGroup(
+                mainAssignment.getSession().getId(),
+                mainAssignment.getResource().getId(),
+                mainAssignment.getParticipantNumber(),
+                name,
+                revision
+        );
+
+        Assignment current = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı"));
+        if (claimed == 0 && !name.equals(current.getAssignedToName())) {
+            throw new AssignmentAlreadyTakenException();
+        }
+        if (claimed > 0) {
+            progressService.applyChange(sessionId, before, progressService.groupTotals(sessionId, List.of(assignmentId)));
+            publish(current, SessionChangeType.CLAIMED, revision);
+        }
+        return current;
+    }
 
-        for (Assignment a : relatedAssignments) {
-            a.setTaken(true);
-            a.setAssignedToName(name);
+    // Sanal parçanın ilk alınışı: dağıtım satırı kilitlenir, parça henüz satıra dönüşmemişse
+    // alınmış olarak oluşturulur; dönüşmüşse normal koşullu UPDATE yoluna devredilir.
+    // Kilit sırası toplu işlemle aynıdır: önce oturum satırı (revizyon), sonra dağıtım satırı.
+    private Assignment claimVirtualSlot(Long virtualId, String name) {
+        long distributionId = ResourceDistribution.distributionIdOf(virtualId);
+        Long sessionId = distributionRepository.findSessionIdById(distributionId)
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı"));
+        long revision = nextRevision(sessionId);
+
+        ResourceDistribution distribution = distributionRepository.findByIdForUpdate(distributionId)
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı"));
+        int pNum = ResourceDistribution.participantNumberOf(virtualId);
+        if (!distribution.hasSlot(pNum)) throw new NotFoundException("Parça bulunamadı");
+
+        Assignment existing = assignmentRepository.findFirstBySession_IdAndResource_IdAndParticipantNumber(
+                sessionId, distribution.getResource().getId(), pNum);
+        if (existing != null) {
+            return claimAssignment(existing.getId(), name);
         }
 
-        assignmentRepository.saveAll(relatedAssignments);
-        return mainAssignment;
+        Assignment saved = materializeSlot(distribution, pNum, name, revision);
+        progressService.applyChange(sessionId, Map.of(), progressService.groupTotals(sessionId, List.of(saved.getId())));
+        publish(saved, SessionChangeType.CLAIMED, revision);
+        return saved;
     }
 
-    public void updateProgress(Long assignmentId, int newCount, String name) {
-        Assignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new RuntimeException("Parça bulunamadı"));
-        if (!assignment.getAssignedToName().equals(name)) throw new RuntimeException("Yetkisiz işlem.");
-        assignment.setCurrentCount(newCount);
-        assignmentRepository.save(assignment);
+    private Assignment materializeSlot(ResourceDistribution distribution, int pNum, String name, long revision) {
+        Assignment assignment = buildSlot(distribution, pNum);
+        assignment.setId(null);
+        assignment.setTaken(true);
+        assignment.setAssignedToName(name);
+        assignment.setLastModifiedRevision(revision);
+        return assignmentRepository.save(assignment);
+    }
+
+    // Birden çok alma/tamamlama/bırakma işlemi tek işlemde (transaction) ve tek revizyonla uygulanır.
+    // Sanal parçalar tek tek oluşturulur; kalan işlemler tür başına tek bir JDBC batch'i olarak yazılır.
+    // Her UPDATE tekli uç noktalardaki koşulları taşır; etkilenen satır sayısı o işlemin sonucunu belirler.
+    @Transactional
+    public BatchResult applyBatch(String code, List<BatchOperation> operations, String name) {
+        DistributionSession session = sessionRepository.findByCode(code);
+        if (session == null) throw new NotFoundException("Oturum bulunamadı.");
+        Long sessionId = session.getId();
+        long revision = nextRevision(sessionId);
+
+        int size = operations.size();
+        BatchItemResult[] results = new BatchItemResult[size];
+        Long[] assignmentIds = new Long[size];
+        Set<String> groups = new HashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            BatchOperation op = operations.get(i);
+            Long id = op.getAssignmentId();
+            if (!ResourceDistribution.isVirtualId(id)) {
+                assignmentIds[i] = id;
+                continue;
+            }
+
+            ResourceDistribution distribution = distributionRepository
+                    .findByIdForUpdate(ResourceDistribution.distributionIdOf(id)).orElse(null);
+            int pNum = ResourceDistribution.participantNumberOf(id);
+            if (distribution == null || !distribution.getSession().getId().equals(sessionId) || !distribution.hasSlot(pNum)) {
+                results[i] = BatchItemResult.failed(op, BatchItemResult.Status.NOT_FOUND, "Parça bulunamadı");
+                continue;
+            }
+            Assignment existing = assignmentRepository.findFirstBySession_IdAndResource_IdAndParticipantNumber(
+                    sessionId, distribution.getResource().getId(), pNum);
+            if (existing != null) {
+                // Satırı oluşmuş sanal parça, normal parçalarla birlikte işlenir
+                assignmentIds[i] = existing.getId();
+            } else if (op.getType() != BatchOperation.Type.TAKE) {
+                results[i] = BatchItemResult.failed(op, BatchItemResult.Status.FORBIDDEN, "Yetkisiz işlem.");
+            } else {
+                groups.add(distribution.getResource().getId() + ":" + pNum);
+                Assignment saved = materializeSlot(distribution, pNum, name, revision);
+                publish(saved, SessionChangeType.CLAIMED, revision);
+                results[i] = BatchItemResult.ok(op, toView(saved));
+            }
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) ids.add(assignmentIds[i]);
+        }
+        Map<Long, AssignmentView> before = new HashMap<>();
+        if (!ids.isEmpty()) {
+            assignmentRepository.findViewsByIds(sessionId, ids).forEach(a -> before.put(a.getId(), a));
+        }
+        Map<Long, ResourceProgress> totalsBefore = progressService.groupTotals(sessionId, ids);
+
+        // Durum kontrolü tekli uç noktalarla aynı; sonuç yine de UPDATE'in koşuluyla kesinleşir
+        Map<BatchOperation.Type, List<Integer>> pending = new EnumMap<>(BatchOperation.Type.class);
+        for (int i = 0; i < size; i++) {
+            if (results[i] != null) continue;
+            BatchOperation op = operations.get(i);
+            AssignmentView a = before.get(assignmentIds[i]);
+            if (a == null) {
+                results[i] = BatchItemResult.failed(op, BatchItemResult.Status.NOT_FOUND, "Parça bulunamadı");
+            } else if (!groups.add(a.getResourceId() + ":" + a.getParticipantNumber())) {
+                results[i] = BatchItemResult.failed(op, BatchItemResult.Status.DUPLICATE,
+                        "Bu parça grubu için istekte birden fazla işlem var.");
+            } else if (op.getType() == BatchOperation.Type.TAKE && a.isTaken()) {
+                results[i] = name.equals(a.getAssignedToName())
+                        ? BatchItemResult.ok(op, a)
+                        : BatchItemResult.failed(op, BatchItemResult.Status.CONFLICT, "ALREADY_TAKEN");
+            } else if (op.getType() != BatchOperation.Type.TAKE && !name.equals(a.getAssignedToName())) {
+                results[i] = BatchItemResult.failed(op, BatchItemResult.Status.FORBIDDEN, "Yetkisiz işlem.");
+            } else {
+                pending.computeIfAbsent(op.getType(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<Integer, Integer> updated = new HashMap<>();
+        pending.forEach((type, indexes) -> {
+            if (type != BatchOperation.Type.TAKE) {
+                indexes.forEach(i -> {
+                    AssignmentView a = before.get(assignmentIds[i]);
+                    progressBuffer.discardGroup(sessionId, a.getResourceId(), a.getParticipantNumber());
+                });
+            }
+            int[] counts = jdbcTemplate.batchUpdate(BATCH_SQL.get(type), indexes, indexes.size(), (ps, i) -> {
+                AssignmentView a = before.get(assignmentIds[i]);
+                bindGroupUpdate(ps, type, name, revision, sessionId, a.getResourceId(), a.getParticipantNumber());
+            })[0];
+            for (int k = 0; k < indexes.size(); k++) updated.put(indexes.get(k), counts[k]);
+        });
+
+        // Sayaç farkı: işlenen tüm grupların (oluşturulan sanal parçalar dahil) önceki ve sonraki toplamları
+        List<Long> touched = new ArrayList<>(ids);
+        for (BatchItemResult result : results) {
+            if (result != null && result.getAssignment() != null && !ids.contains(result.getAssignment().getId())) {
+                touched.add(result.getAssignment().getId());
+            }
+        }
+        progressService.applyChange(sessionId, totalsBefore, progressService.groupTotals(sessionId, touched));
+
+        Map<Long, AssignmentView> after = new HashMap<>();
+        if (!updated.isEmpty()) {
+            List<Long> updatedIds = updated.keySet().stream().map(i -> assignmentIds[i]).toList();
+            assignmentRepository.findViewsByIds(sessionId, updatedIds).forEach(a -> after.put(a.getId(), a));
+        }
+        updated.forEach((i, count) -> {
+            BatchOperation op = operations.get(i);
+            AssignmentView a = after.get(assignmentIds[i]);
+            if (count == 0 || a == null) {
+                // Okuma ile yazma arasında başka bir istek araya girdi
+                results[i] = op.getType() == BatchOperation.Type.TAKE
+                        ? BatchItemResult.failed(op, BatchItemResult.Status.CONFLICT, "ALREADY_TAKEN")
+                        : BatchItemResult.failed(op, BatchItemResult.Status.FORBIDDEN, "Yetkisiz işlem.");
+                return;
+            }
+            results[i] = BatchItemResult.ok(op, a);
+            publish(code, a, BATCH_EVENTS.get(op.getType()), revision);
+        });
+
+        return new BatchResult(code, revision, Arrays.asList(results));
+    }
+
+    // Sayaç dokunuşları bellekte birleştirilir, ProgressBuffer tarafından toplu yazılır
+    public ProgressTarget updateProgress(Long assignmentId, int newCount, String name) {
+        return progressBuffer.record(assignmentId, newCount, name);
     }
 
     @Transactional
     public Assignment completeAssignment(Long assignmentId, String name) {
         Assignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new RuntimeException("Parça bulunamadı."));
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı."));
         if (assignment.getAssignedToName() == null || !assignment.getAssignedToName().equals(name)) {
             throw new RuntimeException("Yetkisiz işlem.");
         }
 
-        List<Assignment> relatedAssignments = assignmentRepository.findBySession_Id(assignment.getSession().getId())
-                .stream()
-                .filter(a -> a.getResource().getId().equals(assignment.getResource().getId())
-                        && a.getParticipantNumber() == assignment.getParticipantNumber())
-                .toList();
-
-        for (Assignment a : relatedAssignments) {
-            a.setCompleted(true);
-            a.setCurrentCount(0);
-        }
-        assignmentRepository.saveAll(relatedAssignments);
-        return assignment;
+        Long sessionId = assignment.getSession().getId();
+        long revision = nextRevision(sessionId);
+        // Tamamlanan grubun sayacı zaten sıfırlanır; bekleyen dokunuşlar atılır
+        progressBuffer.discardGroup(sessionId, assignment.getResource().getId(), assignment.getParticipantNumber());
+        Map<Long, ResourceProgress> before = progressService.groupTotals(sessionId, List.of(assignmentId));
+        assignmentRepository.completeGroup(
+                assignment.getSession().getId(),
+                assignment.getResource().getId(),
+                assignment.getParticipantNumber(),
+                name,
+                revision
+        );
+        progressService.applyChange(sessionId, before, progressService.groupTotals(sessionId, List.of(assignmentId)));
+        Assignment completed = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı."));
+        publish(completed, SessionChangeType.COMPLETED, revision);
+        return completed;
     }
 
     @Transactional
     public void deleteSession(String code, String username) {
         DistributionSession session = sessionRepository.findByCode(code);
-        if (session == null) throw new RuntimeException("Oturum bulunamadı.");
+        if (session == null) throw new NotFoundException("Oturum bulunamadı.");
         if (!session.getCreatorName().equals(username)) throw new RuntimeException("Yetkisiz işlem.");
+        progressBuffer.discardSession(session.getId());
+        progressService.deleteSession(session.getId());
         assignmentRepository.deleteBySession_Id(session.getId());
+        distributionRepository.deleteBySession_Id(session.getId());
         sessionRepository.delete(session);
+        eventPublisher.publishEvent(SessionChangedEvent.of(code, SessionChangeType.DELETED, session.getRevision() + 1));
     }
 
     @Transactional
     public void leaveSession(String code, String username) {
-        List<Assignment> userAssignments = assignmentRepository.findBySession_CodeAndAssignedToName(code, username);
-        for (Assignment assignment : userAssignments) {
-            assignment.setTaken(false);
-            assignment.setAssignedToName(null);
-            assignment.setCurrentCount(0);
-            assignment.setCompleted(false);
-        }
-        assignmentRepository.saveAll(userAssignments);
+        DistributionSession session = sessionRepository.findByCode(code);
+        if (session == null) return;
+        // Oturum satırı revizyon artırılmadan kilitlenir; kullanıcının parçası yoksa hiçbir şey değişmez,
+        // revizyon ve önbellekler (ETag, sıcak oturum) olduğu gibi kalır
+        sessionRepository.findByIdForUpdate(session.getId());
+        if (!assignmentRepository.existsBySession_IdAndAssignedToName(session.getId(), username)) return;
+
+        long revision = nextRevision(session.getId());
+        progressBuffer.discardUser(session.getId(), username);
+        progressService.releaseUser(session.getId(), username);
+        assignmentRepository.releaseAllForUser(session.getId(), username, revision);
+        eventPublisher.publishEvent(new SessionChangedEvent(code, SessionChangeType.LEFT, revision,
+                null, null, null, username, null));
     }
 
     @Transactional
     public Assignment cancelAssignment(Long assignmentId, String name) {
         Assignment mainAssignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new RuntimeException("Parça bulunamadı"));
+                .orElseThrow(() -> new NotFoundException("Parça bulunamadı"));
 
         if (mainAssignment.isTaken() && mainAssignment.getAssignedToName() != null) {
             if (mainAssignment.getAssignedToName().equals(name)) {
-                List<Assignment> relatedAssignments = assignmentRepository.findBySession_Id(mainAssignment.getSession().getId())
-                        .stream()
-                        .filter(a -> a.getResource().getId().equals(mainAssignment.getResource().getId())
-                                && a.getParticipantNumber() == mainAssignment.getParticipantNumber())
-                        .toList();
-
-                for (Assignment a : relatedAssignments) {
-                    a.setTaken(false);
-                    a.setAssignedToName(null);
-                    a.setCompleted(false);
-                    int initialCount = a.getEndUnit() - a.getStartUnit() + 1;
-                    a.setCurrentCount(initialCount);
-                }
-                assignmentRepository.saveAll(relatedAssignments);
-                return mainAssignment;
+                Long sessionId = mainAssignment.getSession().getId();
+                long revision = nextRevision(sessionId);
+                progressBuffer.discardGroup(sessionId, mainAssignment.getResource().getId(),
+                        mainAssignment.getParticipantNumber());
+                Map<Long, ResourceProgress> before = progressService.groupTotals(sessionId, List.of(assignmentId));
+                assignmentRepository.cancelGroup(
+                        mainAssignment.getSession().getId(),
+                        mainAssignment.getResource().getId(),
+                        mainAssignment.getParticipantNumber(),
+                        name,
+                        revision
+                );
+                progressService.applyChange(sessionId, before, progressService.groupTotals(sessionId, List.of(assignmentId)));
+                Assignment cancelled = assignmentRepository.findById(assignmentId)
+                        .orElseThrow(() -> new NotFoundException("Parça bulunamadı"));
+                publish(cancelled, SessionChangeType.CANCELLED, revision);
+                return cancelled;
             }
         }
         throw new RuntimeException("Yetkisiz işlem.");
@@ -357,22 +660,81 @@ public class DistributionService {
     @Transactional
     public void resetSession(String code, String username) {
         DistributionSession session = sessionRepository.findByCode(code);
-        if (session == null) throw new RuntimeException("Oturum bulunamadı.");
+        if (session == null) throw new NotFoundException("Oturum bulunamadı.");
         if (!session.getCreatorName().equals(username)) throw new RuntimeException("Yetkisiz işlem.");
 
-        List<Assignment> assignments = assignmentRepository.findBySession_Id(session.getId());
-        for (Assignment assignment : assignments) {
-            assignment.setTaken(false);
-            assignment.setAssignedToName(null);
-            assignment.setCompleted(false);
-            int initialCount = assignment.getEndUnit() - assignment.getStartUnit() + 1;
-            assignment.setCurrentCount(initialCount);
-        }
-        assignmentRepository.saveAll(assignments);
+        // Sanal dağıtımlardan oluşmuş satırlar silinir; parçalar yeniden tanımdan hesaplanır
+        long revision = nextRevision(session.getId());
+        progressBuffer.discardSession(session.getId());
+        assignmentRepository.deleteMaterializedSlots(session.getId());
+        assignmentRepository.resetAllInSession(session.getId(), revision);
+        progressService.clearTaken(session.getId());
+        // Silinen satırlar farkla ifade edilemez; sıfırlamadan önceki revizyonlar tam yükleme yapar
+        sessionRepository.resetDeltaBase(session.getId());
+        eventPublisher.publishEvent(SessionChangedEvent.of(code, SessionChangeType.RESET, revision));
+    }
+
+    // Uzun süren (SSE) istekler için: open-in-view altında repository çağrısı bağlantıyı istek bitene kadar
+    // tutardı; JdbcTemplate bağlantıyı sorgudan hemen sonra havuza geri verir
+    public boolean sessionExists(String code) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sessions WHERE code = ?", Integer.class, code);
+        return count != null && count > 0;
+    }
+
+    // Oturum satırını günceller (ve kilitler), yeni revizyonu döner.
+    // Her değişiklik önce bunu çağırır; böylece kilit sırası hep oturum -> parçalar olur.
+    private long nextRevision(Long sessionId) {
+        sessionRepository.incrementRevision(sessionId);
+        return sessionRepository.findRevisionById(sessionId);
+    }
+
+    // Tek grubun koşullu UPDATE'i (sıcak oturumlar da kullanır); etkilenen satır sayısını döner
+    static int updateGroup(JdbcTemplate jdbcTemplate, BatchOperation.Type type, String name, long revision,
+                           Long sessionId, Long resourceId, int participantNumber) {
+        return jdbcTemplate.update(BATCH_SQL.get(type),
+                ps -> bindGroupUpdate(ps, type, name, revision, sessionId, resourceId, participantNumber));
+    }
+
+    private static void bindGroupUpdate(PreparedStatement ps, BatchOperation.Type type, String name, long revision,
+                                        Long sessionId, Long resourceId, int participantNumber) throws SQLException {
+        int p = 1;
+        if (type == BatchOperation.Type.TAKE) ps.setString(p++, name);
+        ps.setLong(p++, revision);
+        ps.setLong(p++, sessionId);
+        ps.setLong(p++, resourceId);
+        ps.setInt(p++, participantNumber);
+        if (type != BatchOperation.Type.TAKE) ps.setString(p, name);
+    }
+
+    static AssignmentView toView(Assignment a) {
+        return new AssignmentView(a.getId(), a.getResource().getId(), a.getParticipantNumber(), a.getStartUnit(),
+                a.getEndUnit(), a.isTaken(), a.isCompleted(), a.getAssignedToName(), a.getCurrentCount());
+    }
+
+    private void publish(String code, AssignmentView a, SessionChangeType type, long revision) {
+        eventPublisher.publishEvent(new SessionChangedEvent(code, type, revision, a.getId(), a.getResourceId(),
+                a.getParticipantNumber(), a.getAssignedToName(), a.getCurrentCount()));
+    }
+
+    // Olay commit sonrası dinleyicilere (SSE yayını vb.) ulaşır
+    private void publish(Assignment assignment, SessionChangeType type, long revision) {
+        eventPublisher.publishEvent(new SessionChangedEvent(
+                assignment.getSession().getCode(),
+                type,
+                revision,
+                assignment.getId(),
+                assignment.getResource().getId(),
+                assignment.getParticipantNumber(),
+                assignment.getAssignedToName(),
+                assignment.getCurrentCount()
+        ));
     }
 
     public void initDatabase() {
+        progressBuffer.discardAll();
+        progressService.deleteAll();
         assignmentRepository.deleteAll();
+        distributionRepository.deleteAll();
         sessionRepository.deleteAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.readcircle.service;
+
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.model.ResourceDistribution;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Sıcak oturumun posta kutusu ve bellek içi durumu. Posta kutusunu aynı anda tek bir iş parçacığı boşaltır
+// (aktör); durum sadece o iş parçacığından değiştirilir, okumalar commit sonrası yayınlanan değişmez
+// anlık görüntüyü (SessionSnapshot) kullanır.
+final class HotSession {
+
+    enum Kind { TAKE, COMPLETE, CANCEL, PROGRESS, EVICT }
+
+    // Tamamlanan future, komuttan hemen sonraki parça görünümünü döner; null ise oturum bu arada soğumuştur,
+    // çağıran normal yolu kullanır
+    static final class Command {
+        final Kind kind;
+        final Long assignmentId;
+        final String name;
+        final int count;
+        final CompletableFuture<AssignmentView> result = new CompletableFuture<>();
+
+        AssignmentView resultView;
+        RuntimeException failure;
+
+        Command(Kind kind, Long assignmentId, String name, int count) {
+            this.kind = kind;
+            this.assignmentId = assignmentId;
+            this.name = name;
+            this.count = count;
+        }
+
+        void succeed(AssignmentView view) {
+            resultView = view;
+            failure = null;
+        }
+
+        void fail(RuntimeException e) {
+            resultView = null;
+            failure = e;
+        }
+    }
+
+    // Parça satırının değişebilen alanları; sadece aktör iş parçacığında kullanılır
+    static final class Row {
+        final Long id;
+        final Long resourceId;
+        final int participantNumber;
+        final int startUnit;
+        final int endUnit;
+        boolean taken;
+        boolean completed;
+        String name;
+        Integer count;
+        boolean countDirty;
+
+        Row(AssignmentView view) {
+            this.id = view.getId();
+            this.resourceId = view.getResourceId();
+            this.participantNumber = view.getParticipantNumber();
+            this.startUnit = view.getStartUnit();
+            this.endUnit = view.getEndUnit();
+            this.taken = view.isTaken();
+            this.completed = view.isCompleted();
+            this.name = view.getAssignedToName();
+            this.count = view.getCurrentCount();
+        }
+
+        GroupKey group() {
+            return new GroupKey(resourceId, participantNumber);
+        }
+
+        AssignmentView view() {
+            return new AssignmentView(id, resourceId, participantNumber, startUnit, endUnit, taken, completed, name, count);
+        }
+    }
+
+    record GroupKey(Long resourceId, int participantNumber) {
+    }
+
+    // Aktörün sahip olduğu durum; yükleme sırasında bir kez kurulur, hata olursa baştan yüklenir
+    static final class State {
+        final String description;
+        final String creatorName;
+        final int participants;
+        final Map<Long, Row> rows = new HashMap<>();
+        final Map<GroupKey, List<Row>> groups = new HashMap<>();
+        final List<ResourceDistribution> distributions;
+        long revision;
+
+        State(String description, String creatorName, int participants, List<AssignmentView> views,
+              List<ResourceDistribution> distributions, long revision) {
+            this.description = description;
+            this.creatorName = creatorName;
+            this.participants = participants;
+            this.distributions = distributions;
+            this.revision = revision;
+            views.forEach(this::add);
+        }
+
+        void add(AssignmentView view) {
+            Row row = new Row(view);
+            rows.put(row.id, row);
+            groups.computeIfAbsent(row.group(), k -> new ArrayList<>()).add(row);
+        }
+
+        List<Row> group(Row row) {
+            return groups.get(row.group());
+        }
+
+        // Satırı oluşmuş sanal parçanın kimliği (yoksa null)
+        Long materializedId(Long resourceId, int participantNumber) {
+            List<Row> group = groups.get(new GroupKey(resourceId, participantNumber));
+            return group != null && !group.isEmpty() ? group.get(0).id : null;
+        }
+
+        // Sıcak oturumda ilerleme tamponu kullanılmaz; dokunuşlar da revizyonu artırır
+        SessionSnapshot snapshot(Long sessionId, String code) {
+            List<AssignmentView> views = new ArrayList<>(rows.size());
+            rows.values().stream()
+                    .sorted((a, b) -> Long.compare(a.id, b.id))
+                    .forEach(row -> views.add(row.view()));
+            for (ResourceDistribution distribution : distributions) {
+                views.addAll(SessionViewService.virtualViews(distribution, views));
+            }
+            return SessionSnapshot.of(sessionId, code, description, creatorName, participants, revision, 0, views);
+        }
+    }
+
+    final Long sessionId;
+    private final Executor executor;
+    private final Consumer<HotSession> drainer;
+    private final Queue<Command> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // Aktör iş parçacığına ait
+    State state;
+    String code;
+
+    volatile SessionSnapshot snapshot;
+    volatile boolean evicted;
+    volatile long lastWriteMillis = System.currentTimeMillis();
+
+    HotSession(Long sessionId, Executor executor, Consumer<HotSession> drainer) {
+        this.sessionId = sessionId;
+        this.executor = executor;
+        this.drainer = drainer;
+    }
+
+    CompletableFuture<AssignmentView> submit(Kind kind, Long assignmentId, String name, int count) {
+        Command command = new Command(kind, assignmentId, name, count);
+        if (kind != Kind.EVICT) lastWriteMillis = System.currentTimeMillis();
+        mailbox.add(command);
+        schedule();
+        return command.result;
+    }
+
+    // En fazla max komutu posta kutusundan alır (sadece aktör iş parçacığı çağırır)
+    List<Command> poll(int max) {
+        List<Command> batch = new ArrayList<>();
+        Command command;
+        while (batch.size() < max && (command = mailbox.poll()) != null) {
+            batch.add(command);
+        }
+        return batch;
+    }
+
+    void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::run);
+        }
+    }
+
+    private void run() {
+        try {
+            drainer.accept(this);
+        } finally {
+            scheduled.set(false);
+            // Bayrak bırakılırken gelen komutlar kaybolmasın
+            if (!mailbox.isEmpty()) schedule();
+        }
+    }
+}
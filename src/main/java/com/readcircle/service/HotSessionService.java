@@ -0,0 +1,581 @@
+package com.readcircle.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.BatchOperation;
+import com.readcircle.dto.ProgressTarget;
+import com.readcircle.dto.ResourceProgress;
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.event.SessionChangeType;
+import com.readcircle.event.SessionChangedEvent;
+import com.readcircle.exception.AssignmentAlreadyTakenException;
+import com.readcircle.exception.NotFoundException;
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Parça alma/tamamlama/bırakma/ilerleme çağrılarının giriş noktası.
+// Varsayılan olarak doğrudan DistributionService'e gider. app.hot-sessions.enabled=true ise kısa sürede çok yazma
+// alan oturumlar "sıcak" moda geçer: parça durumu belleğe yüklenir, değişiklikler tek iş parçacıklı bir posta
+// kutusunda sırayla bellekte doğrulanır ve birikmiş komutlar tek işlemde (tek revizyon, tek commit) yazılır.
+// Böylece aynı satırlar için bağlantılar kilit beklemez. Okumalar (?lang=) bellekteki anlık görüntüden cevaplanır.
+// SQL'ler tekli uç noktalardaki koşulları aynen taşır; bellek ile veritabanı ayrışırsa durum yeniden yüklenir.
+// Başka bir düğümden gelen değişiklik duyurusu (InvalidationBus) oturumu normal moda döndürür; sıcak mod en iyi,
+// oturumun yazmaları tek düğüme geldiğinde çalışır. Oturum düzeyindeki işlemler (sıfırlama, ayrılma, silme,
+// kaynak ekleme, toplu istek) önce evict() ile oturumu normal moda döndürür.
+@Service
+public class HotSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSessionService.class);
+
+    private static final int MAX_BATCH = 256;
+    private static final long WINDOW_MILLIS = 10_000;
+    private static final long WAIT_SECONDS = 10;
+
+    private final DistributionService distributionService;
+    private final AssignmentRepository assignmentRepository;
+    private final DistributionSessionRepository sessionRepository;
+    private final ResourceDistributionRepository distributionRepository;
+    private final ProgressBuffer progressBuffer;
+    private final SessionProgressService progressService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final int promoteWrites;
+    private final long idleMillis;
+    private final int maxSessions;
+    private final ExecutorService executor;
+
+    private final Map<Long, HotSession> bySessionId = new ConcurrentHashMap<>();
+    private final Map<String, HotSession> byCode = new ConcurrentHashMap<>();
+    private final Map<Long, HotSession> byAssignmentId = new ConcurrentHashMap<>();
+    private final Map<Long, HotSession> byDistributionId = new ConcurrentHashMap<>();
+
+    // Normal moddaki oturumların son 10 saniyedeki yazma sayısı
+    private final Cache<Long, WriteWindow> writeWindows = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+
+    public HotSessionService(DistributionService distributionService,
+                             AssignmentRepository assignmentRepository,
+                             DistributionSessionRepository sessionRepository,
+                             ResourceDistributionRepository distributionRepository,
+                             ProgressBuffer progressBuffer,
+                             SessionProgressService progressService,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.hot-sessions.enabled:false}") boolean enabled,
+                             @Value("${app.hot-sessions.promote-writes:200}") int promoteWrites,
+                             @Value("${app.hot-sessions.idle-ms:120000}") long idleMillis,
+                             @Value("${app.hot-sessions.max:32}") int maxSessions,
+                             @Value("${app.hot-sessions.threads:2}") int threads) {
+        this.distributionService = distributionService;
+        this.assignmentRepository = assignmentRepository;
+        this.sessionRepository = sessionRepository;
+        this.distributionRepository = distributionRepository;
+        this.progressBuffer = progressBuffer;
+        this.progressService = progressService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.promoteWrites = promoteWrites;
+        this.idleMillis = idleMillis;
+        this.maxSessions = maxSessions;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = enabled ? Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "hot-session-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    // Sıcak yolda cevap aktörün bellekteki satırından kurulur; veritabanı yeniden okunmaz
+    public AssignmentView claimAssignment(Long assignmentId, String name) {
+        AssignmentView view = hot(HotSession.Kind.TAKE, assignmentId, name, 0);
+        if (view != null) return view;
+        Assignment assignment = distributionService.claimAssignment(assignmentId, name);
+        recordWrite(assignment.getSession().getId());
+        return DistributionService.toView(assignment);
+    }
+
+    public AssignmentView completeAssignment(Long assignmentId, String name) {
+        AssignmentView view = hot(HotSession.Kind.COMPLETE, assignmentId, name, 0);
+        if (view != null) return view;
+        Assignment assignment = distributionService.completeAssignment(assignmentId, name);
+        recordWrite(assignment.getSession().getId());
+        return DistributionService.toView(assignment);
+    }
+
+    public AssignmentView cancelAssignment(Long assignmentId, String name) {
+        AssignmentView view = hot(HotSession.Kind.CANCEL, assignmentId, name, 0);
+        if (view != null) return view;
+        Assignment assignment = distributionService.cancelAssignment(assignmentId, name);
+        recordWrite(assignment.getSession().getId());
+        return DistributionService.toView(assignment);
+    }
+
+    public void updateProgress(Long assignmentId, int newCount, String name) {
+        if (hot(HotSession.Kind.PROGRESS, assignmentId, name, newCount) != null) return;
+        ProgressTarget target = distributionService.updateProgress(assignmentId, newCount, name);
+        recordWrite(target.getSessionId());
+    }
+
+    // Oturumu normal moda döndürür; posta kutusundaki komutlar bitene kadar bekler
+    public void evict(String code) {
+        if (!enabled) return;
+        HotSession session = byCode.get(code);
+        if (session != null) await(session.submit(HotSession.Kind.EVICT, null, null, 0));
+    }
+
+    public void evictAll() {
+        if (!enabled) return;
+        new ArrayList<>(byCode.keySet()).forEach(this::evict);
+    }
+
+    // Oturum başka bir düğümde değiştiyse bellekteki durum eskimiştir: beklemeden normal moda döndürülür
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (!enabled) return;
+        if (event.isAll()) {
+            bySessionId.values().forEach(session -> session.submit(HotSession.Kind.EVICT, null, null, 0));
+        } else if (event.getScope() == CacheInvalidationEvent.Scope.SESSION) {
+            HotSession session = byCode.get(event.getCode());
+            if (session != null) session.submit(HotSession.Kind.EVICT, null, null, 0);
+        }
+    }
+
+    // Sıcak oturumun son commit edilmiş görünümü; oturum sıcak değilse null
+    SessionSnapshot snapshot(String code) {
+        if (!enabled) return null;
+        HotSession session = byCode.get(code);
+        return session != null && !session.evicted ? session.snapshot : null;
+    }
+
+    public Long revision(String code) {
+        SessionSnapshot snapshot = snapshot(code);
+        return snapshot != null ? snapshot.getRevision() : null;
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    public void evictIdle() {
+        if (!enabled) return;
+        long now = System.currentTimeMillis();
+        for (HotSession session : bySessionId.values()) {
+            if (now - session.lastWriteMillis > idleMillis) session.submit(HotSession.Kind.EVICT, null, null, 0);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) return;
+        bySessionId.values().forEach(session -> session.submit(HotSession.Kind.EVICT, null, null, 0));
+        executor.shutdown();
+        executor.awaitTermination(WAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Oturum sıcaksa komutu posta kutusuna bırakıp sonucu bekler; null dönerse normal yol kullanılır
+    private AssignmentView hot(HotSession.Kind kind, Long assignmentId, String name, int count) {
+        if (!enabled) return null;
+        HotSession session = ResourceDistribution.isVirtualId(assignmentId)
+                ? byDistributionId.get(ResourceDistribution.distributionIdOf(assignmentId))
+                : byAssignmentId.get(assignmentId);
+        if (session == null || session.evicted) return null;
+        return await(session.submit(kind, assignmentId, name, count));
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("İşlem zaman aşımına uğradı, lütfen tekrar deneyin.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("İşlem yarıda kesildi.");
+        }
+    }
+
+    private void recordWrite(Long sessionId) {
+        if (!enabled || bySessionId.containsKey(sessionId)) return;
+        WriteWindow window = writeWindows.get(sessionId, k -> new WriteWindow());
+        if (window.increment() < promoteWrites || bySessionId.size() >= maxSessions) return;
+
+        HotSession session = new HotSession(sessionId, executor, this::drain);
+        if (bySessionId.putIfAbsent(sessionId, session) == null) {
+            writeWindows.invalidate(sessionId);
+            session.schedule();
+        }
+    }
+
+    // --- Aktör iş parçacığı ---
+
+    private void drain(HotSession session) {
+        if (session.evicted) {
+            session.poll(Integer.MAX_VALUE).forEach(command -> command.result.complete(null));
+            return;
+        }
+        if (session.state == null && !load(session)) return;
+
+        List<HotSession.Command> batch = session.poll(MAX_BATCH);
+        int evictAt = -1;
+        for (int i = 0; i < batch.size() && evictAt < 0; i++) {
+            if (batch.get(i).kind == HotSession.Kind.EVICT) evictAt = i;
+        }
+
+        process(session, evictAt < 0 ? batch : batch.subList(0, evictAt));
+        if (session.evicted) {
+            if (evictAt >= 0) batch.subList(evictAt, batch.size()).forEach(command -> command.result.complete(null));
+        } else if (evictAt >= 0) {
+            unregister(session);
+            log.info("Oturum {} normal moda döndü", session.code);
+            batch.subList(evictAt, batch.size()).forEach(command -> command.result.complete(null));
+        }
+    }
+
+    // Oturum satırı kilitlenerek yüklenir: o an süren normal yazmalar önce biter
+    private boolean load(HotSession session) {
+        try {
+            progressBuffer.flush();
+            transactionTemplate.executeWithoutResult(status -> {
+                DistributionSession entity = sessionRepository.findByIdForUpdate(session.sessionId).orElse(null);
+                if (entity == null) {
+                    session.state = null;
+                    return;
+                }
+                session.code = entity.getCode();
+                session.state = new HotSession.State(entity.getDescription(), entity.getCreatorName(),
+                        entity.getParticipants(), assignmentRepository.findViewsBySessionId(session.sessionId),
+                        distributionRepository.findBySession_Id(session.sessionId), entity.getRevision());
+                // Kilit bırakılmadan kaydedilir: bundan sonra gelen istekler posta kutusuna düşer
+                register(session);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Sıcak oturum yüklenemedi ({}): {}", session.sessionId, e.getMessage());
+            session.state = null;
+        }
+
+        if (session.state == null) {
+            unregister(session);
+            session.poll(Integer.MAX_VALUE).forEach(command -> command.result.complete(null));
+            return false;
+        }
+        log.info("Oturum {} sıcak moda geçti ({} parça)", session.code, session.state.rows.size());
+        return true;
+    }
+
+    private void register(HotSession session) {
+        session.snapshot = session.state.snapshot(session.sessionId, session.code);
+        byCode.put(session.code, session);
+        session.state.rows.keySet().forEach(id -> byAssignmentId.put(id, session));
+        session.state.distributions.forEach(d -> byDistributionId.put(d.getId(), session));
+    }
+
+    private void unregister(HotSession session) {
+        session.evicted = true;
+        // Sıcak moddaki alma/tamamlama/bırakmalar tamponun sahiplik önbelleğine yansımadı
+        progressBuffer.invalidateTargets(session.sessionId);
+        bySessionId.remove(session.sessionId, session);
+        if (session.code != null) byCode.remove(session.code, session);
+        byAssignmentId.values().removeIf(s -> s == session);
+        byDistributionId.values().removeIf(s -> s == session);
+    }
+
+    private void process(HotSession session, List<HotSession.Command> commands) {
+        if (commands.isEmpty()) return;
+        HotSession.State state = session.state;
+        boolean[] reload = {false};
+        boolean[] stale = {false};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                sessionRepository.incrementRevision(session.sessionId);
+                long revision = sessionRepository.findRevisionById(session.sessionId);
+                // Yüklemeden sonra oturuma başka yoldan yazılmış (yükleme sırasında kilidi bekleyen normal istek
+                // ya da başka bir düğüm): bellek eskidir, hiçbir komut uygulanmadan işlem geri alınır
+                if (revision != state.revision + 1) {
+                    stale[0] = true;
+                    status.setRollbackOnly();
+                    return;
+                }
+                write(session, state, commands, revision, reload);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Sıcak oturum yazılamadı ({}): {}", session.code, e.getMessage());
+            RuntimeException failure = new RuntimeException("İşlem kaydedilemedi, lütfen tekrar deneyin.");
+            commands.forEach(command -> command.fail(failure));
+            reload[0] = true;
+        }
+
+        // Oturumun tek yazıcısı bu düğüm değil: normal moda dönülür, komutlar sonuçsuz tamamlanıp normal yoldan işlenir
+        if (stale[0]) {
+            unregister(session);
+            log.info("Oturum {} başka bir yazıcı nedeniyle normal moda döndü", session.code);
+            commands.forEach(command -> command.result.complete(null));
+            return;
+        }
+
+        if (reload[0]) {
+            session.state = null;
+            load(session);
+        } else {
+            session.snapshot = state.snapshot(session.sessionId, session.code);
+        }
+
+        for (HotSession.Command command : commands) {
+            if (command.failure != null) command.result.completeExceptionally(command.failure);
+            else command.result.complete(command.resultView);
+        }
+    }
+
+    private void write(HotSession session, HotSession.State state, List<HotSession.Command> commands, long revision,
+                       boolean[] reload) {
+        // Sanal parçanın ilk alımı satırı oluşturur ve kendi sayaç farkını yazar; fark o noktada kapatılıp
+        // kalan komutlar (yeni satır dahil) için yeniden açılır
+        List<Long> touched = touchedRows(state, commands);
+        Map<Long, ResourceProgress> before = progressService.groupTotals(session.sessionId, touched);
+
+        for (int i = 0; i < commands.size(); i++) {
+            HotSession.Command command = commands.get(i);
+            if (!materializes(state, command)) {
+                apply(session, state, command, revision, reload);
+                continue;
+            }
+            progressService.applyChange(session.sessionId, before,
+                    progressService.groupTotals(session.sessionId, touched));
+            apply(session, state, command, revision, reload);
+            touched = touchedRows(state, commands.subList(i + 1, commands.size()));
+            before = progressService.groupTotals(session.sessionId, touched);
+        }
+        writeProgress(session, state, revision, reload);
+
+        progressService.applyChange(session.sessionId, before,
+                progressService.groupTotals(session.sessionId, touched));
+        // Sanal parça alımları kendi revizyonunu da artırır
+        state.revision = sessionRepository.findRevisionById(session.sessionId);
+    }
+
+    // Sayaç farkı için grup toplamları okunacak (satırı olan) parçalar
+    private static List<Long> touchedRows(HotSession.State state, List<HotSession.Command> commands) {
+        List<Long> ids = new ArrayList<>();
+        for (HotSession.Command command : commands) {
+            if (command.kind == HotSession.Kind.PROGRESS) continue;
+            Long id = command.assignmentId;
+            if (ResourceDistribution.isVirtualId(id)) id = materializedId(state, id);
+            if (id != null && state.rows.containsKey(id)) ids.add(id);
+        }
+        return ids;
+    }
+
+    private static boolean materializes(HotSession.State state, HotSession.Command command) {
+        return command.kind == HotSession.Kind.TAKE && ResourceDistribution.isVirtualId(command.assignmentId)
+                && materializedId(state, command.assignmentId) == null;
+    }
+
+    private static Long materializedId(HotSession.State state, Long virtualId) {
+        ResourceDistribution distribution = distribution(state, virtualId);
+        if (distribution == null) return null;
+        return state.materializedId(distribution.getResource().getId(), ResourceDistribution.participantNumberOf(virtualId));
+    }
+
+    private static ResourceDistribution distribution(HotSession.State state, Long virtualId) {
+        long distributionId = ResourceDistribution.distributionIdOf(virtualId);
+        for (ResourceDistribution distribution : state.distributions) {
+            if (distribution.getId() == distributionId) return distribution;
+        }
+        return null;
+    }
+
+    // Tekli uç noktaların kurallarıyla aynı; bellekteki durum ancak UPDATE satır etkilediyse değişir
+    private void apply(HotSession session, HotSession.State state, HotSession.Command command, long revision,
+                       boolean[] reload) {
+        Long id = command.assignmentId;
+        if (ResourceDistribution.isVirtualId(id)) {
+            ResourceDistribution distribution = distribution(state, id);
+            if (distribution == null || !distribution.hasSlot(ResourceDistribution.participantNumberOf(id))) {
+                command.fail(new NotFoundException("Parça bulunamadı"));
+                return;
+            }
+            Long materialized = materializedId(state, id);
+            if (materialized == null) {
+                if (command.kind != HotSession.Kind.TAKE) {
+                    command.fail(new NotFoundException("Parça bulunamadı"));
+                    return;
+                }
+                // Bellek eskiyse (yükleme sırasında normal yoldan alınmışsa) normal yol hata atıp tüm işlemi geri
+                // alırdı; önce veritabanına bakılır, sadece bu komut düşer ve durum yeniden yüklenir
+                if (assignmentRepository.findFirstBySession_IdAndResource_IdAndParticipantNumber(session.sessionId,
+                        distribution.getResource().getId(), ResourceDistribution.participantNumberOf(id)) != null) {
+                    reload[0] = true;
+                    command.fail(new RuntimeException("İşlem kaydedilemedi, lütfen tekrar deneyin."));
+                    return;
+                }
+                // İlk alım satırı oluşturur: normal yol bu işleme katılır (kilit, sayaç ve olay dahil)
+                AssignmentView saved = DistributionService.toView(distributionService.claimAssignment(id, command.name));
+                state.add(saved);
+                byAssignmentId.put(saved.getId(), session);
+                command.succeed(saved);
+                return;
+            }
+            id = materialized;
+        }
+
+        HotSession.Row row = state.rows.get(id);
+        if (row == null) {
+            command.fail(new NotFoundException(command.kind == HotSession.Kind.COMPLETE ? "Parça bulunamadı." : "Parça bulunamadı"));
+            return;
+        }
+
+        switch (command.kind) {
+            case TAKE -> {
+                if (row.taken) {
+                    if (command.name.equals(row.name)) command.succeed(row.view());
+                    else command.fail(new AssignmentAlreadyTakenException());
+                    return;
+                }
+                if (updateGroup(session, BatchOperation.Type.TAKE, command.name, revision, row) == 0) {
+                    reload[0] = true;
+                    command.fail(new AssignmentAlreadyTakenException());
+                    return;
+                }
+                for (HotSession.Row r : state.group(row)) {
+                    r.taken = true;
+                    r.name = command.name;
+                }
+                publish(session, row, SessionChangeType.CLAIMED, revision);
+                command.succeed(row.view());
+            }
+            case COMPLETE -> {
+                if (row.name == null || !row.name.equals(command.name)) {
+                    command.fail(new RuntimeException("Yetkisiz işlem."));
+                    return;
+                }
+                if (updateGroup(session, BatchOperation.Type.COMPLETE, command.name, revision, row) == 0) {
+                    reload[0] = true;
+                    command.fail(new RuntimeException("Yetkisiz işlem."));
+                    return;
+                }
+                for (HotSession.Row r : state.group(row)) {
+                    r.completed = true;
+                    r.count = 0;
+                    r.countDirty = false;
+                }
+                publish(session, row, SessionChangeType.COMPLETED, revision);
+                command.succeed(row.view());
+            }
+            case CANCEL -> {
+                if (!row.taken || !command.name.equals(row.name)) {
+                    command.fail(new RuntimeException("Yetkisiz işlem."));
+                    return;
+                }
+                if (updateGroup(session, BatchOperation.Type.CANCEL, command.name, revision, row) == 0) {
+                    reload[0] = true;
+                    command.fail(new RuntimeException("Yetkisiz işlem."));
+                    return;
+                }
+                for (HotSession.Row r : state.group(row)) {
+                    r.taken = false;
+                    r.name = null;
+                    r.completed = false;
+                    r.count = r.endUnit - r.startUnit + 1;
+                    r.countDirty = false;
+                }
+                publish(session, row, SessionChangeType.CANCELLED, revision);
+                command.succeed(row.view());
+            }
+            case PROGRESS -> {
+                if (row.name == null || !row.name.equals(command.name)) {
+                    command.fail(new RuntimeException("Yetkisiz işlem."));
+                    return;
+                }
+                // Tamamlanmış parçadaki dokunuş normal yolda da yazılmaz
+                if (!row.completed) {
+                    row.count = command.count;
+                    row.countDirty = true;
+                }
+                command.succeed(row.view());
+            }
+            default -> command.fail(new IllegalStateException("Beklenmeyen komut: " + command.kind));
+        }
+    }
+
+    private int updateGroup(HotSession session, BatchOperation.Type type, String name, long revision, HotSession.Row row) {
+        return DistributionService.updateGroup(jdbcTemplate, type, name, revision, session.sessionId,
+                row.resourceId, row.participantNumber);
+    }
+
+    // Aynı parçaya gelen dokunuşlar birleşir: parça başına sadece son değer yazılır
+    private void writeProgress(HotSession session, HotSession.State state, long revision, boolean[] reload) {
+        List<HotSession.Row> dirty = new ArrayList<>();
+        for (HotSession.Row row : state.rows.values()) {
+            if (row.countDirty) dirty.add(row);
+        }
+        if (dirty.isEmpty()) return;
+
+        int[] counts = jdbcTemplate.batchUpdate(ProgressBuffer.UPDATE_SQL, dirty, dirty.size(), (ps, row) -> {
+            ps.setInt(1, row.count != null ? row.count : 0);
+            ps.setLong(2, revision);
+            ps.setLong(3, row.id);
+            ps.setString(4, row.name);
+        })[0];
+        for (int i = 0; i < dirty.size(); i++) {
+            HotSession.Row row = dirty.get(i);
+            row.countDirty = false;
+            if (counts[i] == 0) reload[0] = true;
+            else publish(session, row, SessionChangeType.PROGRESS, revision);
+        }
+    }
+
+    private void publish(HotSession session, HotSession.Row row, SessionChangeType type, long revision) {
+        eventPublisher.publishEvent(new SessionChangedEvent(session.code, type, revision, row.id, row.resourceId,
+                row.participantNumber, row.name, row.count));
+    }
+
+    private static final class WriteWindow {
+        private long start = System.currentTimeMillis();
+        private int count;
+
+        synchronized int increment() {
+            long now = System.currentTimeMillis();
+            if (now - start > WINDOW_MILLIS) {
+                start = now;
+                count = 0;
+            }
+            return ++count;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.readcircle.service;
+
+// Uygulama örnekleri (düğümler) arasında önbellek geçersizleştirme duyuruları.
+// Bir düğümün duyurusu diğer düğümlerde CacheInvalidationEvent olarak yayınlanır; gönderen kendi duyurusunu almaz
+// (kendi önbelleklerini SessionChangedEvent ile zaten temizler). Oturum değişiklikleri, DistributionService'in
+// yayınladığı SessionChangedEvent'lerden kod ve revizyonla otomatik ve commit'e bağlı olarak duyurulur.
+// Hangi uygulamanın kullanılacağı InvalidationBusConfig'te seçilir.
+public interface InvalidationBus {
+
+    // Kaynak kataloğu (seed) değişti
+    void publishCatalog();
+
+    // Tüm oturumlar geçersiz (veritabanı sıfırlandı)
+    void publishAll();
+}
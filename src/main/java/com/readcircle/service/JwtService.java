@@ -0,0 +1,103 @@
+package com.readcircle.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.readcircle.util.Hashing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// JWT üretimi ve doğrulaması. İmza anahtarı ve parser bir kez kurulur (ikisi de değişmez, thread-safe).
+// Doğrulanmış token'lar özetleri (SHA-256) üzerinden, süreleri dolana kadar önbellekte tutulur;
+// aynı token'la gelen sonraki isteklerde imza ve claim çözümlemesi tekrar yapılmaz.
+@Service
+public class JwtService {
+
+    private static final long TOKEN_VALIDITY_MILLIS = 1000L * 60 * 60 * 10; // 10 saat
+    private static final long MAX_CACHE_SIZE = 10_000;
+
+    private final Key key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHE_SIZE)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public String generateToken(String username) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TOKEN_VALIDITY_MILLIS))
+                .signWith(key, SignatureAlgorithm.HS256) // Sabit anahtar ile imzalama
+                .compact();
+    }
+
+    // Token geçerliyse kullanıcı adını, değilse (imza hatalı, süresi dolmuş, bozuk) null döner
+    public String validate(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.username();
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String username = claims.getSubject();
+            if (username == null) return null;
+
+            // Süresiz token'lar da en fazla normal token ömrü kadar önbellekte kalır
+            long expiresAt = claims.getExpiration() != null
+                    ? claims.getExpiration().getTime()
+                    : System.currentTimeMillis() + TOKEN_VALIDITY_MILLIS;
+            verified.put(digest, new VerifiedToken(username, expiresAt));
+            return username;
+        } catch (Exception e) {
+            // Geçersiz token'lar önbelleğe alınmaz
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        return Hashing.sha256Hex(token);
+    }
+
+    private record VerifiedToken(String username, long expiresAtMillis) {
+    }
+
+    // Her kayıt, token'ın kendi bitiş zamanında önbellekten düşer
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.readcircle.service;
+
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.event.SessionChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Aynı JVM içindeki düğümler için (H2, testler): duyuru bu JVM'de açılmış diğer LocalInvalidationBus örneklerinin
+// uygulama bağlamlarına commit'ten sonra iletilir. Tek uygulama bağlamında duyuru kimseye gitmez.
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private static final Set<LocalInvalidationBus> NODES = ConcurrentHashMap.newKeySet();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LocalInvalidationBus(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        NODES.add(this);
+    }
+
+    // Commit'ten sonra çağrılır; burada yeni bir senkronizasyon kaydedilemez, doğrudan iletilir
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        deliver(CacheInvalidationEvent.session(event.getCode(), event.getRevision()));
+    }
+
+    @Override
+    public void publishCatalog() {
+        send(CacheInvalidationEvent.catalog());
+    }
+
+    @Override
+    public void publishAll() {
+        send(CacheInvalidationEvent.all());
+    }
+
+    @PreDestroy
+    public void close() {
+        NODES.remove(this);
+    }
+
+    // İşlem içindeyse Postgres'teki gibi commit'e kadar bekletilir
+    private void send(CacheInvalidationEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event);
+                }
+            });
+        } else {
+            deliver(event);
+        }
+    }
+
+    private void deliver(CacheInvalidationEvent event) {
+        for (LocalInvalidationBus node : NODES) {
+            if (node != this) node.eventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.readcircle.service;
+
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.event.SessionChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+// PostgreSQL LISTEN/NOTIFY ile düğümler arası duyuru.
+// Duyuru (pg_notify) değişikliği yapan işlemin içinde gönderilir: Postgres onu sadece commit'te iletir, geri alınan
+// işlemde düşürür; aynı işlemdeki aynı içerikli duyurular (ör. bir toplu yazmanın parçaları) tek duyuruya iner.
+// Her düğüm havuzdan bir bağlantıyı kalıcı olarak LISTEN için ayırır. Bağlantı koparsa yeniden bağlanılır ve
+// aradaki duyurular kaçırılmış olabileceği için yerelde ALL yayınlanır.
+// İçerik: <düğüm>|S|<kod>|<revizyon>, <düğüm>|C ya da <düğüm>|A
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    static final String CHANNEL = "readcircle_invalidation";
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final int POLL_MILLIS = 500;
+    private static final long RETRY_MILLIS = 5_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationBus(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        send("S|" + event.getCode() + "|" + event.getRevision());
+    }
+
+    @Override
+    public void publishCatalog() {
+        send("C");
+    }
+
+    @Override
+    public void publishAll() {
+        send("A");
+    }
+
+    // Dinleme, uygulama hazır olduğunda başlar; önbellek bean'lerinin hepsi kurulmuş olur
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        listener = new Thread(this::listen, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(RETRY_MILLIS);
+        }
+    }
+
+    private void send(String message) {
+        jdbcTemplate.query(NOTIFY_SQL, (ResultSetExtractor<Void>) rs -> null, CHANNEL, nodeId + "|" + message);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Geçersizleştirme kanalına yeniden bağlanıldı, yerel önbellekler temizleniyor");
+                    eventPublisher.publishEvent(CacheInvalidationEvent.all());
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Geçersizleştirme kanalı dinlenemiyor: {}", e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    // Bu düğümün kendi duyurusu yok sayılır; bozuk içerik dinleyiciyi düşürmeden reddedilir
+    void receive(String payload) {
+        String[] parts = payload.split("\\|");
+        if (parts.length < 2 || parts[0].equals(nodeId)) return;
+
+        CacheInvalidationEvent event = switch (parts[1]) {
+            case "S" -> parts.length == 4 ? session(parts[2], parts[3]) : null;
+            case "C" -> parts.length == 2 ? CacheInvalidationEvent.catalog() : null;
+            case "A" -> parts.length == 2 ? CacheInvalidationEvent.all() : null;
+            default -> null;
+        };
+        if (event == null) {
+            log.warn("Tanınmayan geçersizleştirme duyurusu: {}", payload);
+            return;
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    private static CacheInvalidationEvent session(String code, String revision) {
+        if (code.isEmpty()) return null;
+        try {
+            return CacheInvalidationEvent.session(code, Long.parseLong(revision));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
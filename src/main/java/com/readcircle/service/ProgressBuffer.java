@@ -0,0 +1,265 @@
+package com.readcircle.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.ProgressTarget;
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.event.SessionChangeType;
+import com.readcircle.event.SessionChangedEvent;
+import com.readcircle.exception.NotFoundException;
+import com.readcircle.model.Assignment;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Sayaçlı kaynaklardaki (Münciye, Tefriciye, zikirler) her dokunuş veritabanına gitmez:
+// parça başına sadece son değer bellekte tutulur ve belirli aralıklarla, oturum başına tek revizyonla
+// toplu UPDATE olarak yazılır. Okumalar bekleyen değeri görür (read-your-writes).
+// Çökmede en fazla bir yazma aralığı kaybolur. Sahipliği değiştiren işlemler (bırakma, sıfırlama,
+// tamamlama, silme) ilgili bekleyen değerleri atar; yazma da sadece parça hâlâ aynı kişideyse ve
+// tamamlanmamışsa uygulanır.
+@Service
+public class ProgressBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressBuffer.class);
+
+    static final String UPDATE_SQL = "UPDATE assignments SET current_count = ?, last_modified_revision = ? " +
+            "WHERE id = ? AND assigned_to_name = ? AND is_completed = false";
+
+    private final AssignmentRepository assignmentRepository;
+    private final DistributionSessionRepository sessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Yazılmayı bekleyen son değerler ve şu an yazılmakta olanlar (commit'e kadar okumalar bunları da görür)
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Pending> inFlight = new ConcurrentHashMap<>();
+
+    // Oturum başına son bekleyen dokunuşun sürümü; ETag'in revizyonla birlikte bunu da içermesi için.
+    // Sürümler tüm oturumlar için tek sayaçtan gelir, hiç tekrar etmez; oturumun bekleyen dokunuşu kalmayınca
+    // (yazıldı, atıldı) kayıt silinir ve sürüm 0'a döner: bu durumda içerik, revizyonun veritabanındaki hâlidir.
+    private final AtomicLong tapSequence = new AtomicLong();
+    private final Map<String, Long> tapVersions = new ConcurrentHashMap<>();
+
+    // Parça sahipliği, her dokunuşta veritabanına sorulmasın diye kısa süre tutulur
+    private final Cache<Long, ProgressTarget> targets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public ProgressBuffer(AssignmentRepository assignmentRepository,
+                          DistributionSessionRepository sessionRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher) {
+        this.assignmentRepository = assignmentRepository;
+        this.sessionRepository = sessionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ProgressTarget record(Long assignmentId, int newCount, String name) {
+        ProgressTarget target = targets.getIfPresent(assignmentId);
+        if (target == null) {
+            target = assignmentRepository.findProgressTarget(assignmentId);
+            if (target == null) throw new NotFoundException("Parça bulunamadı");
+            if (target.getAssignedToName() != null) targets.put(assignmentId, target);
+        }
+        if (target.getAssignedToName() == null || !target.getAssignedToName().equals(name)) {
+            throw new RuntimeException("Yetkisiz işlem.");
+        }
+        // Tamamlanmış parçanın sayacı yazılmaz (UPDATE koşulu da bunu düşürürdü); dokunuş bekletilmez ve
+        // okumalara yansımaz. Sıcak oturumdaki davranışla aynı şekilde hata dönülmez.
+        if (target.isCompleted()) return target;
+
+        pending.put(assignmentId, new Pending(target, newCount));
+        tapVersions.put(target.getSessionCode(), tapSequence.incrementAndGet());
+        return target;
+    }
+
+    // Bekleyen değer varsa onu, yoksa null döner
+    public Integer pendingCount(Long assignmentId) {
+        Pending p = pending.get(assignmentId);
+        if (p == null) p = inFlight.get(assignmentId);
+        return p != null ? p.count : null;
+    }
+
+    public long tapVersion(String code) {
+        Long version = tapVersions.get(code);
+        return version != null ? version : 0;
+    }
+
+    public List<AssignmentView> overlay(List<AssignmentView> views) {
+        if (pending.isEmpty() && inFlight.isEmpty()) return views;
+        List<AssignmentView> result = new ArrayList<>(views.size());
+        for (AssignmentView view : views) {
+            Integer count = view.getId() != null && view.getId() > 0 ? pendingCount(view.getId()) : null;
+            result.add(count != null ? view.withCurrentCount(count) : view);
+        }
+        return result;
+    }
+
+    // Entity listesi için; çağıran, entity'lerin veritabanına geri yazılmayacağından emin olmalıdır
+    public boolean overlayEntities(List<Assignment> assignments) {
+        if (pending.isEmpty() && inFlight.isEmpty()) return false;
+        boolean changed = false;
+        for (Assignment assignment : assignments) {
+            Integer count = assignment.getId() != null && assignment.getId() > 0 ? pendingCount(assignment.getId()) : null;
+            if (count != null) {
+                assignment.setCurrentCount(count);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public boolean hasPending(Long sessionId) {
+        return matches(p -> p.target.getSessionId().equals(sessionId));
+    }
+
+    public void discardGroup(Long sessionId, Long resourceId, int participantNumber) {
+        discard(p -> p.target.getSessionId().equals(sessionId)
+                && p.target.getResourceId().equals(resourceId)
+                && p.target.getParticipantNumber() == participantNumber);
+    }
+
+    public void discardUser(Long sessionId, String name) {
+        discard(p -> p.target.getSessionId().equals(sessionId) && name.equals(p.target.getAssignedToName()));
+    }
+
+    public void discardSession(Long sessionId) {
+        discard(p -> p.target.getSessionId().equals(sessionId));
+    }
+
+    public void discardAll() {
+        pending.clear();
+        inFlight.clear();
+        tapVersions.clear();
+        targets.invalidateAll();
+    }
+
+    // Oturum bu süreçte başka bir yoldan (sıcak mod) değiştiyse önbellekteki sahiplik/tamamlanma bilgisi eskidir
+    public void invalidateTargets(Long sessionId) {
+        targets.asMap().values().removeIf(target -> target.getSessionId().equals(sessionId));
+    }
+
+    // Başka bir düğümde değişen oturumun parça sahiplikleri bir sonraki dokunuşta yeniden okunur;
+    // bekleyen değerler korunur (yazma zaten sadece parça hâlâ aynı kişideyse uygulanır)
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.isAll()) targets.invalidateAll();
+        else if (event.getScope() == CacheInvalidationEvent.Scope.SESSION) {
+            targets.asMap().values().removeIf(target -> event.getCode().equals(target.getSessionCode()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.progress.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<Long, List<Pending>> bySession = new HashMap<>();
+        for (Long assignmentId : new ArrayList<>(pending.keySet())) {
+            Pending p = pending.remove(assignmentId);
+            if (p == null) continue;
+            inFlight.put(assignmentId, p);
+            bySession.computeIfAbsent(p.target.getSessionId(), k -> new ArrayList<>()).add(p);
+        }
+
+        for (Map.Entry<Long, List<Pending>> entry : bySession.entrySet()) {
+            List<Pending> batch = entry.getValue();
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(entry.getKey(), batch));
+            } catch (RuntimeException e) {
+                // Yazılamayanlar, bu arada daha yeni bir değer gelmediyse bir sonraki tura bırakılır
+                log.warn("İlerleme yazılamadı (oturum {}): {}", entry.getKey(), e.getMessage());
+                batch.forEach(p -> pending.putIfAbsent(p.target.getAssignmentId(), p));
+            } finally {
+                batch.forEach(p -> inFlight.remove(p.target.getAssignmentId(), p));
+            }
+        }
+        bySession.values().forEach(batch -> prune(batch.get(0).target.getSessionCode()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Kilit sırası diğer değişikliklerle aynı: önce oturum satırı (revizyon), sonra parçalar
+    private void write(Long sessionId, List<Pending> batch) {
+        if (sessionRepository.incrementRevision(sessionId) == 0) return; // oturum silinmiş
+        long revision = sessionRepository.findRevisionById(sessionId);
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, p) -> {
+            ps.setInt(1, p.count);
+            ps.setLong(2, revision);
+            ps.setLong(3, p.target.getAssignmentId());
+            ps.setString(4, p.target.getAssignedToName());
+        });
+
+        for (Pending p : batch) {
+            eventPublisher.publishEvent(new SessionChangedEvent(p.target.getSessionCode(), SessionChangeType.PROGRESS,
+                    revision, p.target.getAssignmentId(), p.target.getResourceId(), p.target.getParticipantNumber(),
+                    p.target.getAssignedToName(), p.count));
+        }
+    }
+
+    private boolean matches(Predicate<Pending> predicate) {
+        for (Pending p : pending.values()) if (predicate.test(p)) return true;
+        for (Pending p : inFlight.values()) if (predicate.test(p)) return true;
+        return false;
+    }
+
+    private void discard(Predicate<Pending> predicate) {
+        Set<String> codes = new HashSet<>();
+        Predicate<Pending> collecting = p -> {
+            if (!predicate.test(p)) return false;
+            codes.add(p.target.getSessionCode());
+            return true;
+        };
+        pending.values().removeIf(collecting);
+        inFlight.values().removeIf(collecting);
+        targets.asMap().values().removeIf(target -> predicate.test(new Pending(target, 0)));
+        codes.forEach(this::prune);
+    }
+
+    // Oturumun bekleyen ya da yazılmakta olan dokunuşu kalmadıysa sürüm kaydı silinir. Kontrol, record()'un
+    // aynı anahtardaki yazmasıyla sıralanır: araya giren yeni dokunuş ya görülür ya da kendi sürümünü yeniden ekler.
+    private void prune(String code) {
+        tapVersions.computeIfPresent(code, (key, version) ->
+                matches(p -> key.equals(p.target.getSessionCode())) ? version : null);
+    }
+
+    private static final class Pending {
+        private final ProgressTarget target;
+        private final int count;
+
+        private Pending(ProgressTarget target, int count) {
+            this.target = target;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.readcircle.service;
+
+import com.readcircle.model.RefreshToken;
+import com.readcircle.repository.RefreshTokenRepository;
+import com.readcircle.util.Hashing;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Yenileme token'ları: istemci süresi dolmak üzere olan JWT'sini şifre (BCrypt) doğrulaması olmadan yeniler.
+// Her kullanımda token tüketilir ve yerine yenisi verilir (rotation).
+@Service
+public class RefreshTokenService {
+
+    private static final long VALIDITY_DAYS = 30;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Transactional
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(digest(token), username, LocalDateTime.now().plusDays(VALIDITY_DAYS)));
+        return token;
+    }
+
+    // Geçerli token'ı tüketip sahibinin kullanıcı adını döner; geçersiz, süresi dolmuş ya da kullanılmışsa null
+    @Transactional
+    public String consume(String token) {
+        if (token == null || token.isBlank()) return null;
+        String hash = digest(token);
+
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash);
+        if (stored == null) return null;
+        if (refreshTokenRepository.consume(hash) == 0) return null;
+        if (stored.getExpiresAt().isBefore(LocalDateTime.now())) return null;
+        return stored.getUsername();
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000)
+    @Transactional
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static String digest(String token) {
+        return Hashing.sha256Hex(token);
+    }
+}
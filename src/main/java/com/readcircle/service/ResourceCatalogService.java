@@ -0,0 +1,229 @@
+package com.readcircle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.readcircle.dto.ResourceSummary;
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.model.Resource;
+import com.readcircle.model.ResourceTranslation;
+import com.readcircle.repository.ResourceRepository;
+import com.readcircle.util.Hashing;
+import com.readcircle.util.StoredText;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// DataSeeder'ın yazdığı kaynak kataloğunun bellek içi kopyası.
+// Katalog sadece seed sırasında değiştiği için açılışta ve her seed sonrasında bir kez kurulur;
+// istekler veritabanına gitmeden hazır JSON baytlarından ve dil bazlı özetlerden cevaplanır.
+@Service
+public class ResourceCatalogService {
+
+    private final ResourceRepository resourceRepository;
+    private final TextStoreService textStore;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Catalog catalog;
+
+    public ResourceCatalogService(ResourceRepository resourceRepository, TextStoreService textStore,
+                                  ObjectMapper objectMapper) {
+        this.resourceRepository = resourceRepository;
+        this.textStore = textStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void refresh() {
+        MessageDigest digest = Hashing.sha256();
+        List<Resource> resources = resourceRepository.findAllWithTranslations();
+
+        List<CatalogResource> entries = new ArrayList<>();
+        for (Resource resource : resources) {
+            update(digest, resource.getId(), resource.getCodeKey(), resource.getType(), resource.getTotalUnits());
+
+            Map<String, ResourceSummary> byLang = new LinkedHashMap<>();
+            if (resource.getTranslations() != null) {
+                List<ResourceTranslation> translations = resource.getTranslations().stream()
+                        .sorted(Comparator.comparing(ResourceTranslation::getId))
+                        .toList();
+                for (ResourceTranslation translation : translations) {
+                    String contentHash = translation.getContentHash() != null
+                            ? translation.getContentHash()
+                            : contentHash(translation.getDescription());
+                    update(digest, translation.getId(), translation.getLangCode(), translation.getName(),
+                            translation.getUnitName(), contentHash);
+                    byLang.put(translation.getLangCode(), new ResourceSummary(resource.getId(), resource.getCodeKey(),
+                            resource.getType(), resource.getTotalUnits(), translation.getLangCode(),
+                            translation.getName(), translation.getUnitName(), contentHash));
+                }
+            }
+            entries.add(new CatalogResource(resource.getId(), Collections.unmodifiableMap(byLang)));
+        }
+
+        // Eski (tam) cevap biçimi geriye uyumluluk için aynen korunur, sadece bir kez serileştirilir
+        fillBodiesFromStore(resources);
+        byte[] fullJson = toJson(resources);
+        String checksum = HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+        catalog = new Catalog(checksum, List.copyOf(entries), fullJson);
+    }
+
+    // Katalog başka bir düğümde yeniden seed edildi
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.affectsCatalog()) refresh();
+    }
+
+    public String getChecksum() {
+        return catalog().checksum;
+    }
+
+    public String getETag() {
+        return "\"catalog-" + getChecksum() + "\"";
+    }
+
+    // Metin gövdeleri dahil eski /resources cevabı
+    public byte[] getFullJson() {
+        return catalog().fullJson;
+    }
+
+    // Tek dilde, metinsiz katalog cevabı
+    public byte[] getJson(String lang) {
+        return catalog().view(SessionViewService.normalizeLang(lang)).json;
+    }
+
+    // Katalogda en az bir kaynağın çevirisi olan dil mi
+    public boolean hasLanguage(String lang) {
+        return catalog().languages.contains(lang);
+    }
+
+    public List<ResourceSummary> getSummaries(String lang) {
+        return catalog().view(SessionViewService.normalizeLang(lang)).summaries;
+    }
+
+    public List<ResourceSummary> getSummaries(Collection<Long> resourceIds, String lang) {
+        LanguageView view = catalog().view(SessionViewService.normalizeLang(lang));
+        List<ResourceSummary> result = new ArrayList<>();
+        for (Long id : resourceIds) {
+            ResourceSummary summary = view.byId.get(id);
+            if (summary != null) result.add(summary);
+        }
+        return result;
+    }
+
+    // Seed'den önce gelen bir istek olursa katalog o an kurulur
+    private Catalog catalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                if (catalog == null) refresh();
+                current = catalog;
+            }
+        }
+        return current;
+    }
+
+    // Gövdesi sadece metin deposunda tutulan çeviriler eski cevapta yine metinleriyle yer alır.
+    // Entity'ler ayrılarak (detach) doldurulur ki veritabanına geri yazılmasın.
+    private void fillBodiesFromStore(List<Resource> resources) {
+        for (Resource resource : resources) {
+            if (resource.getTranslations() == null) continue;
+            for (ResourceTranslation translation : resource.getTranslations()) {
+                if (translation.getDescription() != null || translation.getContentHash() == null) continue;
+                StoredText stored = textStore.open(translation.getContentHash());
+                if (stored == null) continue;
+                entityManager.detach(resource);
+                translation.setDescription(stored.text());
+            }
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Katalog serileştirilemedi", e);
+        }
+    }
+
+    private static String contentHash(String text) {
+        if (text == null) return null;
+        return Hashing.sha256Hex(text);
+    }
+
+    private static void update(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private record CatalogResource(Long id, Map<String, ResourceSummary> byLang) {
+
+        // İstenen dilde çeviri yoksa varsayılan (tr), o da yoksa ilk çeviri kullanılır
+        ResourceSummary summary(String lang) {
+            ResourceSummary summary = byLang.get(lang);
+            if (summary == null) summary = byLang.get(SessionViewService.DEFAULT_LANG);
+            if (summary == null && !byLang.isEmpty()) summary = byLang.values().iterator().next();
+            return summary;
+        }
+    }
+
+    private record LanguageView(List<ResourceSummary> summaries, Map<Long, ResourceSummary> byId, byte[] json) {
+    }
+
+    // Değişmez katalog anlık görüntüsü; refresh() yenisini kurup referansı değiştirir
+    private final class Catalog {
+        private final String checksum;
+        private final List<CatalogResource> resources;
+        private final byte[] fullJson;
+        private final Set<String> languages = new HashSet<>();
+        private final Map<String, LanguageView> views = new ConcurrentHashMap<>();
+
+        private Catalog(String checksum, List<CatalogResource> resources, byte[] fullJson) {
+            this.checksum = checksum;
+            this.resources = resources;
+            this.fullJson = fullJson;
+            for (CatalogResource resource : resources) {
+                languages.addAll(resource.byLang().keySet());
+            }
+        }
+
+        // Bilinmeyen diller varsayılan görünümü paylaşır, böylece önbellek dil sayısıyla sınırlı kalır
+        LanguageView view(String lang) {
+            String key = languages.contains(lang) ? lang : SessionViewService.DEFAULT_LANG;
+            return views.computeIfAbsent(key, this::buildView);
+        }
+
+        private LanguageView buildView(String lang) {
+            List<ResourceSummary> summaries = new ArrayList<>();
+            Map<Long, ResourceSummary> byId = new LinkedHashMap<>();
+            for (CatalogResource resource : resources) {
+                ResourceSummary summary = resource.summary(lang);
+                if (summary == null) continue;
+                summaries.add(summary);
+                byId.put(resource.id(), summary);
+            }
+            return new LanguageView(List.copyOf(summaries), Map.copyOf(byId), toJson(summaries));
+        }
+    }
+}
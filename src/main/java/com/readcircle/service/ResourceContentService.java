@@ -0,0 +1,96 @@
+package com.readcircle.service;
+
+import com.readcircle.dto.ResourceContent;
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.repository.ResourceTranslationRepository;
+import com.readcircle.util.RowIndex;
+import com.readcircle.util.StoredText;
+import com.readcircle.util.TextRows;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Kaynak metinlerini satır aralığı olarak sunar.
+// Metin depoda varsa memory-mapped dosyadan okunur; yoksa veritabanındaki gövde için satır ofset tablosu
+// ilk istekte bir kez kurulur. Her iki durumda da sonuç bellekte tutulur; katalogda olmayan diller varsayılan dile
+// indirgendiği için önbellek kaynak x katalogdaki dil sayısıyla sınırlı kalır.
+@Service
+public class ResourceContentService {
+
+    private final ResourceTranslationRepository translationRepository;
+    private final TextStoreService textStore;
+    private final ResourceCatalogService catalogService;
+    private final Map<String, TextRows> indexes = new ConcurrentHashMap<>();
+
+    public ResourceContentService(ResourceTranslationRepository translationRepository, TextStoreService textStore,
+                                  ResourceCatalogService catalogService) {
+        this.translationRepository = translationRepository;
+        this.textStore = textStore;
+        this.catalogService = catalogService;
+    }
+
+    public ResourceContent getContent(Long resourceId, String lang, Integer from, Integer to) {
+        String effectiveLang = SessionViewService.normalizeLang(lang);
+        TextRows index = getIndex(resourceId, effectiveLang);
+        if (index == null) return null;
+
+        int totalRows = index.size();
+        int effectiveFrom = from != null ? from : 1;
+        int effectiveTo = to != null ? Math.min(to, totalRows) : totalRows;
+        if (effectiveFrom < 1 || effectiveFrom > effectiveTo) {
+            throw new RuntimeException("Geçersiz aralık: " + effectiveFrom + "-" + effectiveTo + " (toplam " + totalRows + ")");
+        }
+
+        return new ResourceContent(resourceId, effectiveLang, effectiveFrom, effectiveTo, totalRows,
+                index.rows(effectiveFrom, effectiveTo));
+    }
+
+    // Ham metin için depodaki kayıt; metin depoda değilse null
+    public StoredText getStoredText(Long resourceId, String lang) {
+        TextRows index = getIndex(resourceId, SessionViewService.normalizeLang(lang));
+        return index instanceof StoredText stored ? stored : null;
+    }
+
+    private TextRows getIndex(Long resourceId, String lang) {
+        // Katalogda hiç olmayan dil (?lang=xyz) doğrudan varsayılan metne gider, veritabanına sorulmaz
+        if (!catalogService.hasLanguage(lang)) lang = SessionViewService.DEFAULT_LANG;
+
+        TextRows index = indexes.get(key(resourceId, lang));
+        if (index != null) return index;
+
+        // Bu kaynağın istenen dilde metni yoksa varsayılan (tr) metne düş
+        index = load(resourceId, lang);
+        if (index == null && !SessionViewService.DEFAULT_LANG.equals(lang)) {
+            index = getIndex(resourceId, SessionViewService.DEFAULT_LANG);
+        }
+        if (index == null) return null;
+
+        indexes.put(key(resourceId, lang), index);
+        return index;
+    }
+
+    private TextRows load(Long resourceId, String lang) {
+        StoredText stored = textStore.open(translationRepository.findContentHash(resourceId, lang));
+        if (stored != null) return stored;
+
+        String description = translationRepository.findDescription(resourceId, lang);
+        return description != null ? RowIndex.of(description) : null;
+    }
+
+    // Kaynak metinleri yeniden yazıldığında (DataSeeder) çağrılır
+    public void clear() {
+        indexes.clear();
+    }
+
+    // Katalog başka bir düğümde yeniden seed edildi
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.affectsCatalog()) clear();
+    }
+
+    private static String key(Long resourceId, String lang) {
+        return resourceId + ":" + lang;
+    }
+}
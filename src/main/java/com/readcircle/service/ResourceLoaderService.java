@@ -1,12 +1,19 @@
 package com.readcircle.service;
 
-import com.readcircle.util.Constants; // <-- YENİ IMPORT
+import com.readcircle.util.MergedText;
+import com.readcircle.util.RowMerger;
+import com.readcircle.util.RowScanner;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class ResourceLoaderService {
@@ -21,55 +28,40 @@ public class ResourceLoaderService {
         }
     }
 
-    public String mergeTwoFiles(String arabicFile, String latinFile, String defaultMeaning) {
-        String arabicRaw = loadTextFile(arabicFile);
-        String latinRaw = loadTextFile(latinFile);
-
-        // "###" yerine Constants.ROW_SEPARATOR kullanıyoruz
-        String[] arabicParts = arabicRaw.split(Constants.ROW_SEPARATOR);
-        String[] latinParts = latinRaw.split(Constants.ROW_SEPARATOR);
-
-        StringBuilder combinedBuilder = new StringBuilder();
-        int length = Math.min(arabicParts.length, latinParts.length);
-
-        for (int i = 0; i < length; i++) {
-            combinedBuilder.append(arabicParts[i].trim())
-                    .append(Constants.FIELD_SEPARATOR) // "|||" yerine sabit
-                    .append(latinParts[i].trim())
-                    .append(Constants.FIELD_SEPARATOR) // "|||" yerine sabit
-                    .append(defaultMeaning);
+    // Dosya yoksa null döner (seed özetinde "eksik dosya" olarak hesaba katılır)
+    public byte[] loadBytes(String fileName) {
+        ClassPathResource resource = new ClassPathResource(fileName);
+        if (!resource.exists()) return null;
+        try {
+            return StreamUtils.copyToByteArray(resource.getInputStream());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-            if (i < length - 1) {
-                combinedBuilder.append(Constants.ROW_SEPARATOR); // "###" yerine sabit
+    // Dosyalar aynı anda, parça parça okunarak birleştirilir; satır ofsetleri de birlikte döner.
+    // defaultMeaning null değilse her satıra son sütun olarak eklenir.
+    public MergedText mergeFiles(List<String> files, String defaultMeaning) {
+        List<RowScanner> columns = new ArrayList<>(files.size());
+        try {
+            for (String file : files) {
+                columns.add(new RowScanner(openReader(file)));
             }
+            return RowMerger.merge(columns, defaultMeaning);
+        } finally {
+            columns.forEach(RowScanner::close);
         }
-        return combinedBuilder.toString();
     }
 
-    public String mergeThreeFiles(String arabicFile, String latinFile, String meaningFile) {
-        String arabicRaw = loadTextFile(arabicFile);
-        String latinRaw = loadTextFile(latinFile);
-        String meaningRaw = loadTextFile(meaningFile);
-
-        // "###" yerine Constants.ROW_SEPARATOR
-        String[] arabicParts = arabicRaw.split(Constants.ROW_SEPARATOR);
-        String[] latinParts = latinRaw.split(Constants.ROW_SEPARATOR);
-        String[] meaningParts = meaningRaw.split(Constants.ROW_SEPARATOR);
-
-        StringBuilder combinedBuilder = new StringBuilder();
-        int limit = Math.min(arabicParts.length, Math.min(latinParts.length, meaningParts.length));
-
-        for (int i = 0; i < limit; i++) {
-            combinedBuilder.append(arabicParts[i].trim())
-                    .append(Constants.FIELD_SEPARATOR) // "|||"
-                    .append(latinParts[i].trim())
-                    .append(Constants.FIELD_SEPARATOR) // "|||"
-                    .append(meaningParts[i].trim());
-
-            if (i < limit - 1) {
-                combinedBuilder.append(Constants.ROW_SEPARATOR); // "###"
-            }
+    // loadTextFile ile aynı davranış: okunamayan dosya, hata mesajından oluşan tek satırlı metin gibi görülür
+    private Reader openReader(String fileName) {
+        try {
+            ClassPathResource resource = new ClassPathResource(fileName);
+            return new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new StringReader("Dosya okunamadı: " + fileName);
         }
-        return combinedBuilder.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,269 @@
+package com.readcircle.service;
+
+import com.readcircle.event.SessionChangeType;
+import com.readcircle.event.SessionChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Oturum başına SSE aboneleri. DistributionService'in yayınladığı olaylar commit sonrası
+// abonelere dağıtılır; her abonenin sınırlı bir kuyruğu vardır, yavaş istemci diğerlerini bekletmez.
+// emitter.send() soket dolunca bloklar ve emitter'in complete() çağrıları da aynı kilidi bekler; bu yüzden
+// emitter'i yalnızca o aboneyi boşaltan iş parçacığı kapatır. SEND_TIMEOUT_MS'den uzun süren gönderimin
+// abonesi bırakılır ve takılan iş parçacığının yerine havuza geçici olarak yenisi eklenir; bu ek iş parçacıkları
+// MAX_EXTRA_THREADS ile sınırlıdır, sınır doluysa abone telafi edilmeden bırakılır.
+// Oturum başına ve toplam abone sayısı sınırlıdır; sınır doluysa subscribe() null döner.
+@Service
+public class SessionEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionEventBroadcaster.class);
+
+    private static final int BUFFER_SIZE = 64;
+    private static final int DISPATCH_THREADS = 4;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int MAX_EXTRA_THREADS = DISPATCH_THREADS;
+    private static final long SEND_TIMEOUT_MS = 5_000;
+    private static final int MAX_SUBSCRIBERS_PER_SESSION = 500;
+    private static final int MAX_SUBSCRIBERS = 10_000;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberTotal = new AtomicInteger();
+    private final ThreadPoolExecutor dispatcher;
+    private int extraThreads;
+
+    public SessionEventBroadcaster() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(DISPATCH_THREADS, DISPATCH_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "sse-dispatch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Oturumun varlığı çağıran tarafından kontrol edilir; abone sınırı doluysa null döner
+    public SseEmitter subscribe(String code) {
+        if (subscriberTotal.incrementAndGet() > MAX_SUBSCRIBERS) {
+            subscriberTotal.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(code, emitter);
+
+        boolean[] added = {false};
+        subscribers.compute(code, (k, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            if (set.size() < MAX_SUBSCRIBERS_PER_SESSION) added[0] = set.add(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        if (!added[0]) {
+            subscriberTotal.decrementAndGet();
+            return null;
+        }
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(e -> subscriber.detach());
+
+        subscriber.offer(new Item("connected", code));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        Set<Subscriber> sessionSubscribers = subscribers.get(event.getCode());
+        if (sessionSubscribers == null) return;
+
+        Item item = new Item(event.getType().name().toLowerCase(), event);
+        for (Subscriber subscriber : sessionSubscribers) {
+            subscriber.offer(item);
+            if (event.getType() == SessionChangeType.DELETED) {
+                subscriber.closeAfterDrain();
+            }
+        }
+    }
+
+    // Proxy/yük dengeleyicilerin boştaki bağlantıyı kesmemesi için
+    @Scheduled(fixedRate = 15_000)
+    public void sendHeartbeats() {
+        for (Set<Subscriber> sessionSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : sessionSubscribers) {
+                subscriber.offerHeartbeat();
+            }
+        }
+    }
+
+    // Gönderimi takılan (okumayan/çok yavaş) istemciler bırakılır
+    @Scheduled(fixedDelay = 1_000)
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> sessionSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : sessionSubscribers) {
+                if (subscriber.stalled(now)) {
+                    subscriber.abandon();
+                }
+            }
+        }
+    }
+
+    public int subscriberCount(String code) {
+        Set<Subscriber> sessionSubscribers = subscribers.get(code);
+        return sessionSubscribers == null ? 0 : sessionSubscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> sessionSubscribers : subscribers.values()) {
+            // Gönderimi süren emitter'i kapatmak o gönderimi beklerdi
+            sessionSubscribers.stream().filter(s -> s.sendStartedAt == 0).forEach(s -> s.emitter.complete());
+        }
+        dispatcher.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.code, (k, set) -> {
+            if (set.remove(subscriber)) subscriberTotal.decrementAndGet();
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // Takılan iş parçacığı sayısı kadar havuz büyütülür (en fazla MAX_EXTRA_THREADS), gönderim dönünce eski
+    // boyuta iner. Sınır doluysa false döner.
+    private synchronized boolean resizeDispatcher(int delta) {
+        if (delta > 0 && extraThreads + delta > MAX_EXTRA_THREADS) return false;
+        extraThreads += delta;
+        int size = dispatcher.getCorePoolSize() + delta;
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+        return true;
+    }
+
+    private record Item(String name, Object data) {
+        static final Item HEARTBEAT = new Item(null, null);
+    }
+
+    private class Subscriber {
+        private final String code;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Item> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean compensated = new AtomicBoolean();
+        private volatile boolean closeAfterDrain;
+        // closed: yeni olay alınmaz, sıradaki drain emitter'i kapatır; finished: emitter kapandı
+        private volatile boolean closed;
+        private volatile boolean finished;
+        // Sürmekte olan gönderimin başlangıcı (nanoTime), gönderim yoksa 0
+        private volatile long sendStartedAt;
+
+        Subscriber(String code, SseEmitter emitter) {
+            this.code = code;
+            this.emitter = emitter;
+        }
+
+        void offer(Item item) {
+            if (closed) return;
+            if (!queue.offer(item)) {
+                // Kuyruk doldu: istemci yetişemiyor. Bağlantı kapatılır; EventSource yeniden bağlanıp
+                // tam durumu baştan çeker. Bellek kullanımı abone başına BUFFER_SIZE ile sınırlı kalır.
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void offerHeartbeat() {
+            // Kuyrukta bekleyen olay varsa zaten veri akıyor demektir
+            if (!closed && queue.isEmpty() && queue.offer(Item.HEARTBEAT)) {
+                scheduleDrain();
+            }
+        }
+
+        void closeAfterDrain() {
+            closeAfterDrain = true;
+            scheduleDrain();
+        }
+
+        boolean stalled(long now) {
+            long started = sendStartedAt;
+            return started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(SEND_TIMEOUT_MS);
+        }
+
+        void abandon() {
+            if (closed) return;
+            log.warn("SSE abonesi {} ms içinde yazılamadı, bağlantı bırakılıyor ({})", SEND_TIMEOUT_MS, code);
+            // Telafi sınırı doluysa iş parçacığı gönderim dönene kadar havuzdan eksik kalır
+            if (resizeDispatcher(1)) compensated.set(true);
+            close();
+        }
+
+        // Sunucu tarafı kapandı (tamamlandı, zaman aşımı, hata)
+        void detach() {
+            finished = true;
+            closed = true;
+            remove(this);
+        }
+
+        private void close() {
+            closed = true;
+            remove(this);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Item item;
+                while (!closed && (item = queue.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        if (item == Item.HEARTBEAT) {
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        } else {
+                            emitter.send(SseEmitter.event().name(item.name()).data(item.data(), MediaType.APPLICATION_JSON));
+                        }
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+                if ((closed || closeAfterDrain) && !finished) {
+                    detach();
+                    queue.clear();
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                detach();
+                queue.clear();
+                emitter.completeWithError(e);
+            } finally {
+                if (compensated.compareAndSet(true, false)) resizeDispatcher(-1);
+                draining.set(false);
+                if (closed ? !finished : !queue.isEmpty()) scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.readcircle.service;
+
+import com.readcircle.dto.ProgressCounters;
+import com.readcircle.dto.ResourceProgress;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.model.SessionProgress;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.SessionProgressRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// session_progress sayaçları: liste sayfaları ilerleme çubuğunu parça tablosuna dokunmadan buradan okur.
+// Değişiklikler, etkilenen grupların önceki/sonraki toplamları arasındaki fark olarak atomik eklenir.
+// Çağıranlar önce oturum satırını kilitlemiş olmalıdır (DistributionService'te nextRevision).
+@Service
+public class SessionProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionProgressService.class);
+
+    // Tutarlılık kontrolünde tek işlemde kilitlenip düzeltilen en fazla oturum sayısı
+    private static final int CHECK_SLICE_SIZE = 20;
+
+    private final SessionProgressRepository progressRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ResourceDistributionRepository distributionRepository;
+    private final DistributionSessionRepository sessionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SessionProgressService(SessionProgressRepository progressRepository,
+                                  AssignmentRepository assignmentRepository,
+                                  ResourceDistributionRepository distributionRepository,
+                                  DistributionSessionRepository sessionRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.progressRepository = progressRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.distributionRepository = distributionRepository;
+        this.sessionRepository = sessionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Kaynak başına toplamlar: satırlar GROUP BY ile, sanal dağıtımların alınmamış parçaları tanımdan eklenir.
+    // Maliyet kaynak sayısıyla orantılıdır, parça sayısıyla değil.
+    public Map<Long, ResourceProgress> computeProgress(Long sessionId) {
+        Map<Long, ResourceProgress> progress = new LinkedHashMap<>();
+        for (ResourceProgress p : assignmentRepository.summarizeBySessionId(sessionId)) {
+            progress.put(p.getResourceId(), p);
+        }
+        for (ResourceDistribution distribution : distributionRepository.findBySession_Id(sessionId)) {
+            Long resourceId = distribution.getResource().getId();
+            ResourceProgress materialized = progress.getOrDefault(resourceId, empty(resourceId));
+            // Sanal dağıtımda her parça tek satırdır ve satırın birimi tanımdaki birimle aynıdır
+            progress.put(resourceId, materialized.plusUntaken(
+                    distribution.slotCount() - materialized.getParts(),
+                    distribution.totalDistributedUnits() - materialized.getUnits()));
+        }
+        return progress;
+    }
+
+    // Verilen parçaların gruplarının kaynak başına toplamları (değişiklikten önce ve sonra çağrılır)
+    public Map<Long, ResourceProgress> groupTotals(Long sessionId, Collection<Long> assignmentIds) {
+        Map<Long, ResourceProgress> totals = new HashMap<>();
+        if (assignmentIds.isEmpty()) return totals;
+        for (ResourceProgress p : assignmentRepository.summarizeGroupsOf(sessionId, assignmentIds)) {
+            totals.put(p.getResourceId(), p);
+        }
+        return totals;
+    }
+
+    public void applyChange(Long sessionId, Map<Long, ResourceProgress> before, Map<Long, ResourceProgress> after) {
+        Set<Long> resourceIds = new HashSet<>(before.keySet());
+        resourceIds.addAll(after.keySet());
+        for (Long resourceId : resourceIds) {
+            ResourceProgress b = before.getOrDefault(resourceId, empty(resourceId));
+            ResourceProgress a = after.getOrDefault(resourceId, empty(resourceId));
+            add(sessionId, resourceId,
+                    a.getTakenParts() - b.getTakenParts(),
+                    a.getCompletedParts() - b.getCompletedParts(),
+                    a.getTakenUnits() - b.getTakenUnits(),
+                    a.getCompletedUnits() - b.getCompletedUnits());
+        }
+    }
+
+    // Kullanıcının oturumdaki tüm parçaları bırakılmadan önce çağrılır
+    public void releaseUser(Long sessionId, String name) {
+        for (ResourceProgress p : assignmentRepository.summarizeForUser(sessionId, name)) {
+            add(sessionId, p.getResourceId(), -p.getTakenParts(), -p.getCompletedParts(),
+                    -p.getTakenUnits(), -p.getCompletedUnits());
+        }
+    }
+
+    public void clearTaken(Long sessionId) {
+        progressRepository.clearTaken(sessionId);
+    }
+
+    public void deleteSession(Long sessionId) {
+        progressRepository.deleteBySessionId(sessionId);
+    }
+
+    public void deleteAll() {
+        progressRepository.deleteAllInBatch();
+    }
+
+    public Map<String, List<ProgressCounters>> getCounters(Collection<String> codes) {
+        Map<String, List<ProgressCounters>> result = new LinkedHashMap<>();
+        if (codes.isEmpty()) return result;
+        for (ProgressCounters counters : progressRepository.findCountersByCodes(codes)) {
+            result.computeIfAbsent(counters.getCode(), k -> new ArrayList<>()).add(counters);
+        }
+        return result;
+    }
+
+    // Satırları parça tablosundan yeniden hesaplar; eksik/fazla/farklı satırları düzeltir ve düzeltme sayısını döner.
+    // Oturum kurulurken ve kaynak eklenirken de bu kullanılır.
+    public int rebuild(DistributionSession session) {
+        Map<Long, ResourceProgress> expected = computeProgress(session.getId());
+        int fixed = 0;
+        for (SessionProgress row : progressRepository.findBySession_Id(session.getId())) {
+            ResourceProgress p = expected.remove(row.getResourceId());
+            if (p == null) {
+                progressRepository.delete(row);
+                fixed++;
+            } else if (!matches(row, p)) {
+                copy(p, row);
+                progressRepository.save(row);
+                fixed++;
+            }
+        }
+        for (ResourceProgress p : expected.values()) {
+            SessionProgress row = new SessionProgress();
+            row.setSession(session);
+            row.setResourceId(p.getResourceId());
+            copy(p, row);
+            progressRepository.save(row);
+            fixed++;
+        }
+        return fixed;
+    }
+
+    // Sayaçlarda kayma (elle yapılan SQL, yarıda kalan eski sürüm işlemleri vb.) olursa düzeltir.
+    // Oturumlar id sırasıyla küçük dilimler hâlinde, her dilim kendi kısa işleminde ve oturum satırları kilitliyken
+    // kontrol edilir; revizyon değişmez. Kilitler id sırasıyla alınır, diğer yazıcılar tek oturum kilitler.
+    @Scheduled(initialDelayString = "${app.progress.check-interval-ms:3600000}",
+            fixedDelayString = "${app.progress.check-interval-ms:3600000}")
+    public void checkConsistency() {
+        long afterId = 0;
+        int sessions = 0;
+        int drifted = 0;
+        while (true) {
+            long from = afterId;
+            CheckSlice slice = transactionTemplate.execute(status -> checkSlice(from));
+            if (slice == null || slice.checked == 0) break;
+            sessions += slice.checked;
+            drifted += slice.drifted;
+            afterId = slice.lastId;
+            if (slice.checked < CHECK_SLICE_SIZE) break;
+        }
+        log.info("İlerleme sayaçları kontrol edildi: {} oturum, {} düzeltme", sessions, drifted);
+    }
+
+    private CheckSlice checkSlice(long afterId) {
+        CheckSlice slice = new CheckSlice();
+        slice.lastId = afterId;
+        for (Long id : sessionRepository.findIdsAfter(afterId, PageRequest.of(0, CHECK_SLICE_SIZE))) {
+            int fixed = sessionRepository.findByIdForUpdate(id).map(this::rebuild).orElse(0);
+            if (fixed > 0) {
+                slice.drifted++;
+                log.warn("Oturum {} ilerleme sayaçları düzeltildi ({} satır)", id, fixed);
+            }
+            slice.checked++;
+            slice.lastId = id;
+        }
+        return slice;
+    }
+
+    private static class CheckSlice {
+        int checked;
+        int drifted;
+        long lastId;
+    }
+
+    private void add(Long sessionId, Long resourceId, long takenParts, long completedParts,
+                     long takenUnits, long completedUnits) {
+        if (takenParts == 0 && completedParts == 0 && takenUnits == 0 && completedUnits == 0) return;
+        progressRepository.add(sessionId, resourceId, takenParts, completedParts, takenUnits, completedUnits);
+    }
+
+    private static ResourceProgress empty(Long resourceId) {
+        return new ResourceProgress(resourceId, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    private static boolean matches(SessionProgress row, ResourceProgress p) {
+        return row.getParts() == p.getParts()
+                && row.getTakenParts() == p.getTakenParts()
+                && row.getCompletedParts() == p.getCompletedParts()
+                && row.getUnits() == p.getUnits()
+                && row.getTakenUnits() == p.getTakenUnits()
+                && row.getCompletedUnits() == p.getCompletedUnits();
+    }
+
+    private static void copy(ResourceProgress p, SessionProgress row) {
+        row.setParts(p.getParts());
+        row.setTakenParts(p.getTakenParts());
+        row.setCompletedParts(p.getCompletedParts());
+        row.setUnits(p.getUnits());
+        row.setTakenUnits(p.getTakenUnits());
+        row.setCompletedUnits(p.getCompletedUnits());
+    }
+}
@@ -0,0 +1,115 @@
+package com.readcircle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.event.SessionChangedEvent;
+import com.readcircle.model.DistributionSession;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Eski (tam) GET /get/{code} cevabının hazır JSON baytları, oturum kodu başına bir kayıt.
+// Paylaşılan bir bağlantıya aynı anda gelen yüzlerce istekte oturum bir kez yüklenip serileştirilir:
+// aynı kod için eşzamanlı kaçırmalar tek yüklemeyi bekler. Önbellek bayt olarak sınırlıdır (max-bytes).
+// Kayıtlar değişiklik olayı commit edilince (başka düğümdeki değişiklikte InvalidationBus duyurusuyla) silinir; ayrıca revizyon ve bekleyen ilerleme sürümü tutmayan kayıt
+// kullanılmaz. Metrikler: cache.gets/puts/evictions/size (cache=readcircle.session.responses),
+// readcircle.session.responses.load (yükleme süresi) ve readcircle.session.responses.bytes (kapladığı bayt).
+@Service
+public class SessionResponseCache {
+
+    private static final String CACHE_NAME = "readcircle.session.responses";
+
+    private final DistributionService distributionService;
+    private final ProgressBuffer progressBuffer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<String, Entry> responses;
+    private final Timer loadTimer;
+
+    public SessionResponseCache(DistributionService distributionService,
+                                ProgressBuffer progressBuffer,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.session-cache.max-bytes:67108864}") long maxBytes) {
+        this.distributionService = distributionService;
+        this.progressBuffer = progressBuffer;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String code, Entry entry) -> entry.json.length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".bytes", responses,
+                        cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder(CACHE_NAME + ".load")
+                .description("Tam oturum cevabının yüklenip serileştirilme süresi")
+                .register(meterRegistry);
+    }
+
+    // revision çağıranın ETag için okuduğu revizyondur. Oturum yoksa null döner.
+    public byte[] getFullJson(String code, long revision) {
+        long tapVersion = progressBuffer.tapVersion(code);
+        // İsabet/kaçırma istatistiği sadece aşağıdaki get() ile sayılsın
+        Entry cached = responses.policy().getIfPresentQuietly(code);
+        if (cached != null && !cached.matches(revision, tapVersion)) {
+            // Sadece hâlâ aynı eski kayıt duruyorsa silinir; başka bir istek yenisini koyduysa o kullanılır
+            responses.asMap().remove(code, cached);
+        }
+
+        Entry entry = responses.get(code, key -> loadTimer.record(() -> load(key, tapVersion)));
+        return entry != null ? entry.json : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        responses.invalidate(event.getCode());
+    }
+
+    // Başka bir düğümde değişen oturum
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.isAll()) responses.invalidateAll();
+        else if (event.getScope() == CacheInvalidationEvent.Scope.SESSION) responses.invalidate(event.getCode());
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    // Sürüm veriden önce okunur: yükleme sırasında gelen dokunuş bir sonraki istekte yeniden yükletir
+    private Entry load(String code, long tapVersion) {
+        return readOnlyTransaction.execute(status -> {
+            DistributionSession session = distributionService.getSessionByCode(code);
+            if (session == null) return null;
+            try {
+                return new Entry(session.getRevision(), tapVersion, objectMapper.writeValueAsBytes(session));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Oturum serileştirilemedi: " + code, e);
+            }
+        });
+    }
+
+    private record Entry(long revision, long tapVersion, byte[] json) {
+
+        boolean matches(long revision, long tapVersion) {
+            return this.revision == revision && this.tapVersion == tapVersion;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.readcircle.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.ResourceSummary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Oturum görünümünün değişmez, sütun düzenli kopyası: parça başına nesne yerine alan başına bir dizi,
+// isimler ise tekrar etmeyen bir sözlükte tutulur. Revizyon başına bir kez kurulur ve önbellekte paylaşılır;
+// GET /get/{code}?lang= cevabı bu dizilerden JsonGenerator ile ara nesne oluşturmadan yazılır.
+public final class SessionSnapshot {
+
+    // currentCount alanı boş (null) olan parçalar
+    private static final int NO_COUNT = Integer.MIN_VALUE;
+
+    private final Long sessionId;
+    private final String code;
+    private final String description;
+    private final String creatorName;
+    private final int participants;
+    private final long revision;
+    private final long tapVersion;
+
+    private final long[] ids;
+    private final long[] resourceIds;
+    private final int[] participantNumbers;
+    private final int[] startUnits;
+    private final int[] endUnits;
+    private final boolean[] taken;
+    private final boolean[] completed;
+    private final int[] counts;
+    private final int[] nameIndexes;
+    private final String[] names;
+
+    // Cevaptaki "resources" listesi için, ilk görüldükleri sırayla
+    private final List<Long> distinctResourceIds;
+
+    private SessionSnapshot(Long sessionId, String code, String description, String creatorName, int participants,
+                            long revision, long tapVersion, List<AssignmentView> views) {
+        this.sessionId = sessionId;
+        this.code = code;
+        this.description = description;
+        this.creatorName = creatorName;
+        this.participants = participants;
+        this.revision = revision;
+        this.tapVersion = tapVersion;
+
+        int size = views.size();
+        ids = new long[size];
+        resourceIds = new long[size];
+        participantNumbers = new int[size];
+        startUnits = new int[size];
+        endUnits = new int[size];
+        taken = new boolean[size];
+        completed = new boolean[size];
+        counts = new int[size];
+        nameIndexes = new int[size];
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> nameList = new ArrayList<>();
+        Set<Long> resources = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            AssignmentView view = views.get(i);
+            ids[i] = view.getId();
+            resourceIds[i] = view.getResourceId();
+            participantNumbers[i] = view.getParticipantNumber();
+            startUnits[i] = view.getStartUnit();
+            endUnits[i] = view.getEndUnit();
+            taken[i] = view.isTaken();
+            completed[i] = view.isCompleted();
+            counts[i] = view.getCurrentCount() != null ? view.getCurrentCount() : NO_COUNT;
+
+            String name = view.getAssignedToName();
+            if (name == null) {
+                nameIndexes[i] = -1;
+            } else {
+                nameIndexes[i] = dictionary.computeIfAbsent(name, key -> {
+                    nameList.add(key);
+                    return nameList.size() - 1;
+                });
+            }
+            resources.add(view.getResourceId());
+        }
+        names = nameList.toArray(new String[0]);
+        distinctResourceIds = List.copyOf(resources);
+    }
+
+    static SessionSnapshot of(Long sessionId, String code, String description, String creatorName, int participants,
+                              long revision, long tapVersion, List<AssignmentView> views) {
+        return new SessionSnapshot(sessionId, code, description, creatorName, participants, revision, tapVersion, views);
+    }
+
+    public Long getSessionId() { return sessionId; }
+    public String getCode() { return code; }
+    public long getRevision() { return revision; }
+    public int size() { return ids.length; }
+
+    // Anlık görüntü kurulurken geçerli olan, henüz yazılmamış ilerleme sürümü (ProgressBuffer.tapVersion)
+    long getTapVersion() { return tapVersion; }
+
+    List<Long> getResourceIds() { return distinctResourceIds; }
+
+    // Alan sırası ve adları eski SessionView/AssignmentView serileştirmesiyle aynıdır
+    void writeJson(JsonGenerator gen, String lang, List<ResourceSummary> resources) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", sessionId);
+        gen.writeStringField("code", code);
+        gen.writeStringField("description", description);
+        gen.writeStringField("creatorName", creatorName);
+        gen.writeNumberField("participants", participants);
+        gen.writeNumberField("revision", revision);
+        gen.writeStringField("lang", lang);
+
+        gen.writeArrayFieldStart("assignments");
+        for (int i = 0; i < ids.length; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("id", ids[i]);
+            gen.writeNumberField("resourceId", resourceIds[i]);
+            gen.writeNumberField("participantNumber", participantNumbers[i]);
+            gen.writeNumberField("startUnit", startUnits[i]);
+            gen.writeNumberField("endUnit", endUnits[i]);
+            gen.writeStringField("assignedToName", nameIndexes[i] >= 0 ? names[nameIndexes[i]] : null);
+            gen.writeFieldName("currentCount");
+            if (counts[i] == NO_COUNT) gen.writeNull();
+            else gen.writeNumber(counts[i]);
+            gen.writeBooleanField("isCompleted", completed[i]);
+            gen.writeBooleanField("isTaken", taken[i]);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName("resources");
+        gen.writeObject(resources);
+        gen.writeEndObject();
+    }
+}
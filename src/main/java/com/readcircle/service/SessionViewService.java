@@ -0,0 +1,208 @@
+package com.readcircle.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.ResourceProgress;
+import com.readcircle.dto.SessionDelta;
+import com.readcircle.dto.SessionSummary;
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Oturumun hafif (metinsiz) görünümünü projeksiyon sorgularıyla üretir.
+// Entity grafiği yüklenmez, kaynak özetleri bellek içi katalogdan gelir ve cevapta sadece bir kez yer alır.
+// Görünüm revizyon başına bir kez sütun düzenli anlık görüntüye (SessionSnapshot) çevrilip önbellekte tutulur.
+@Service
+public class SessionViewService {
+
+    public static final String DEFAULT_LANG = "tr";
+
+    // Bundan daha eski bir revizyondan fark isteyen istemciye tam yükleme önerilir
+    private static final long MAX_DELTA_REVISIONS = 500;
+
+    private final DistributionSessionRepository sessionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ResourceDistributionRepository distributionRepository;
+    private final ResourceCatalogService catalogService;
+    private final ProgressBuffer progressBuffer;
+    private final SessionProgressService progressService;
+    private final HotSessionService hotSessions;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Son kurulan anlık görüntüler (oturum kodu başına bir tane)
+    private final Cache<String, SessionSnapshot> snapshots = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public SessionViewService(DistributionSessionRepository sessionRepository,
+                              AssignmentRepository assignmentRepository,
+                              ResourceDistributionRepository distributionRepository,
+                              ResourceCatalogService catalogService,
+                              ProgressBuffer progressBuffer,
+                              SessionProgressService progressService,
+                              HotSessionService hotSessions,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.sessionRepository = sessionRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.distributionRepository = distributionRepository;
+        this.catalogService = catalogService;
+        this.progressBuffer = progressBuffer;
+        this.progressService = progressService;
+        this.hotSessions = hotSessions;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Oturumun revizyonuna (ve bekleyen ilerleme sürümüne) ait anlık görüntü; revizyon değişmedikçe yeniden kurulmaz.
+    // revision çağıranın ETag için okuduğu revizyondur. Oturum yoksa null döner.
+    public SessionSnapshot getSnapshot(String code, long revision) {
+        SessionSnapshot hot = hotSessions.snapshot(code);
+        if (hot != null) return hot;
+
+        // Sürüm veriden önce okunur: kurulum sırasında gelen dokunuş bir sonraki istekte yeniden kurdurur
+        long tapVersion = progressBuffer.tapVersion(code);
+        SessionSnapshot cached = snapshots.getIfPresent(code);
+        if (cached != null && cached.getRevision() == revision && cached.getTapVersion() == tapVersion) return cached;
+
+        SessionSnapshot built = readOnlyTransaction.execute(status -> buildSnapshot(code, tapVersion));
+        if (built == null) {
+            snapshots.invalidate(code);
+            return null;
+        }
+        snapshots.put(code, built);
+        return built;
+    }
+
+    // Başka bir düğümde değişen oturum; revizyon kontrolü zaten yakalar, bellek erken boşalsın
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.isAll()) snapshots.invalidateAll();
+        else if (event.getScope() == CacheInvalidationEvent.Scope.SESSION) snapshots.invalidate(event.getCode());
+    }
+
+    // GET /get/{code}?lang= cevabını akışa yazar; kaynak özetleri dile göre katalogdan eklenir
+    public void writeSessionView(SessionSnapshot snapshot, String lang, OutputStream out) throws IOException {
+        String effectiveLang = normalizeLang(lang);
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            snapshot.writeJson(gen, effectiveLang, catalogService.getSummaries(snapshot.getResourceIds(), effectiveLang));
+        }
+    }
+
+    private SessionSnapshot buildSnapshot(String code, long tapVersion) {
+        DistributionSession session = sessionRepository.findByCode(code);
+        if (session == null) return null;
+
+        List<AssignmentView> assignments = new ArrayList<>(
+                progressBuffer.overlay(assignmentRepository.findViewsBySessionId(session.getId())));
+        for (ResourceDistribution distribution : distributionRepository.findBySession_Id(session.getId())) {
+            assignments.addAll(virtualViews(distribution, assignments));
+        }
+        return SessionSnapshot.of(session.getId(), session.getCode(), session.getDescription(),
+                session.getCreatorName(), session.getParticipants(), session.getRevision(), tapVersion, assignments);
+    }
+
+    @Transactional(readOnly = true)
+    public SessionDelta getSessionDelta(String code, long sinceRevision) {
+        DistributionSession session = sessionRepository.findByCode(code);
+        if (session == null) return null;
+
+        long revision = session.getRevision();
+        boolean fullResync = sinceRevision < session.getDeltaBaseRevision()
+                || sinceRevision > revision
+                || revision - sinceRevision > MAX_DELTA_REVISIONS;
+        if (fullResync) {
+            return new SessionDelta(session.getCode(), sinceRevision, revision, true, List.of(), List.of());
+        }
+        if (sinceRevision == revision) {
+            return new SessionDelta(session.getCode(), sinceRevision, revision, false, List.of(), List.of());
+        }
+
+        List<AssignmentView> changed = progressBuffer.overlay(
+                assignmentRepository.findViewsChangedSince(session.getId(), sinceRevision));
+        return new SessionDelta(session.getCode(), sinceRevision, revision, false, changed,
+                replacedVirtualIds(session.getId(), changed));
+    }
+
+    // Sanal dağıtılan kaynaklarda her satır bir sanal parçanın yerini alır (kaynak + katılımcı no aynı).
+    // İstemcide zaten silinmiş olabilir; kimliği tekrar göndermek zararsızdır.
+    private List<Long> replacedVirtualIds(Long sessionId, List<AssignmentView> changed) {
+        if (changed.isEmpty()) return List.of();
+        Map<Long, ResourceDistribution> byResource = new HashMap<>();
+        for (ResourceDistribution distribution : distributionRepository.findBySession_Id(sessionId)) {
+            byResource.put(distribution.getResource().getId(), distribution);
+        }
+        if (byResource.isEmpty()) return List.of();
+
+        List<Long> replaced = new ArrayList<>();
+        for (AssignmentView a : changed) {
+            ResourceDistribution distribution = byResource.get(a.getResourceId());
+            if (distribution != null) replaced.add(distribution.virtualId(a.getParticipantNumber()));
+        }
+        return replaced;
+    }
+
+    @Transactional(readOnly = true)
+    public SessionSummary getSessionSummary(String code, String lang) {
+        DistributionSession session = sessionRepository.findByCode(code);
+        if (session == null) return null;
+
+        Map<Long, ResourceProgress> progress = progressService.computeProgress(session.getId());
+        return new SessionSummary(
+                session.getCode(),
+                session.getDescription(),
+                session.getParticipants(),
+                session.getRevision(),
+                assignmentRepository.countReaders(session.getId()),
+                new ArrayList<>(progress.values()),
+                catalogService.getSummaries(progress.keySet(), normalizeLang(lang))
+        );
+    }
+
+    // Satırı henüz oluşmamış (kimse almamış) parçalar dağıtım tanımından hesaplanır
+    static List<AssignmentView> virtualViews(ResourceDistribution distribution, List<AssignmentView> materialized) {
+        Long resourceId = distribution.getResource().getId();
+        Set<Integer> materializedParticipants = new HashSet<>();
+        for (AssignmentView a : materialized) {
+            if (resourceId.equals(a.getResourceId())) materializedParticipants.add(a.getParticipantNumber());
+        }
+
+        List<AssignmentView> virtual = new ArrayList<>();
+        for (int pNum = 1; pNum <= distribution.getParticipants(); pNum++) {
+            if (materializedParticipants.contains(pNum) || !distribution.hasSlot(pNum)) continue;
+            virtual.add(new AssignmentView(distribution.virtualId(pNum), resourceId, pNum,
+                    distribution.startUnit(pNum), distribution.endUnit(pNum),
+                    false, false, null, distribution.unitCount(pNum)));
+        }
+        return virtual;
+    }
+
+    public static String normalizeLang(String lang) {
+        if (lang == null || lang.isBlank()) return DEFAULT_LANG;
+        return lang.trim().toLowerCase();
+    }
+}
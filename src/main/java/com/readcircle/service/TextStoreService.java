@@ -0,0 +1,271 @@
+package com.readcircle.service;
+
+import com.readcircle.util.Hashing;
+import com.readcircle.util.MergedText;
+import com.readcircle.util.RowIndex;
+import com.readcircle.util.StoredText;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Kaynak metinleri için içerik adresli (SHA-256) disk deposu.
+// Her metin <hash>.txt (UTF-8 gövde), <hash>.idx (satır bayt ofsetleri), <hash>.txt.gz (önceden sıkıştırılmış gövde)
+// ve <hash>.gzcost (anlık sıkıştırmanın ölçülmüş maliyeti) olarak bir kez yazılır, sonra değişmez. Okuma memory-mapped yapılır; ham ve sıkıştırılmış metin
+// FileChannel.transferTo ile kopyalanmadan gönderilir.
+@Service
+public class TextStoreService {
+
+    private static final String TEXT_SUFFIX = ".txt";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String GZIP_SUFFIX = ".txt.gz";
+    private static final String GZIP_COST_SUFFIX = ".gzcost";
+
+    private final Path directory;
+    private final Map<String, StoredText> opened = new ConcurrentHashMap<>();
+
+    // Bir metni anlık sıkıştırmanın süresi (ns); önceden sıkıştırılmış sürüm gönderildiğinde kazanılan CPU
+    private final Map<String, Long> compressionNanos = new ConcurrentHashMap<>();
+    private final Timer compressionTimer;
+
+    public TextStoreService(@Value("${app.text-store.dir:data/texts}") String directory,
+                            MeterRegistry meterRegistry) {
+        this.directory = Path.of(directory);
+        this.compressionTimer = Timer.builder("readcircle.text.gzip.compress")
+                .description("Depoya yazılırken ölçülen, metni varsayılan seviyede anlık sıkıştırma süresi")
+                .register(meterRegistry);
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Metin deposu klasörü oluşturulamadı: " + directory, e);
+        }
+    }
+
+    // Metni depoya yazar (aynı içerik zaten varsa yazmaz) ve içerik özetini döner.
+    // Satır tablosu birleştirme sırasında çıkan ofsetlerden yazılır, metin yeniden taranmaz.
+    public String put(MergedText merged) {
+        byte[] bytes = merged.getText().getBytes(StandardCharsets.UTF_8);
+        String hash = hash(bytes);
+        try {
+            if (!contains(hash)) {
+                RowIndex index = merged.getRowIndex();
+                writeAtomically(indexPath(hash), out -> writeIndex(index, new DataOutputStream(out)));
+                // Gövde en son yazılır; contains() gövdeye baktığı için yarım kalan kayıt görünmez
+                writeAtomically(textPath(hash), out -> out.write(bytes));
+            }
+            if (!Files.exists(gzipPath(hash))) {
+                // Seed sırasında bir kez, en yüksek seviyede sıkıştırılır
+                writeAtomically(gzipPath(hash), out -> {
+                    try (GZIPOutputStream gzip = new MaxGzipOutputStream(out)) {
+                        gzip.write(bytes);
+                    }
+                });
+            }
+            if (!Files.exists(gzipCostPath(hash))) {
+                // İstek sırasında yapılacak olan (varsayılan seviye) sıkıştırmanın maliyeti burada bir kez ölçülür
+                long nanos = measureCompression(bytes);
+                compressionTimer.record(nanos, TimeUnit.NANOSECONDS);
+                writeAtomically(gzipCostPath(hash), out -> out.write(Long.toString(nanos).getBytes(StandardCharsets.US_ASCII)));
+                compressionNanos.put(hash, nanos);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Metin depoya yazılamadı: " + hash, e);
+        }
+        return hash;
+    }
+
+    public boolean hasGzip(String hash) {
+        return Files.exists(gzipPath(hash));
+    }
+
+    // Gövde, satır tablosu, sıkıştırılmış sürüm ve ölçülmüş maliyet eksiksiz mi
+    public boolean isComplete(String hash) {
+        return contains(hash) && hasGzip(hash) && Files.exists(gzipCostPath(hash));
+    }
+
+    public long gzipSize(String hash) {
+        try {
+            return Files.size(gzipPath(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void transferGzipTo(String hash, WritableByteChannel target) throws IOException {
+        transfer(gzipPath(hash), target);
+    }
+
+    // Metni istek sırasında (varsayılan seviyede) sıkıştırmanın maliyeti; depoya yazılırken ölçülmüş değer okunur,
+    // bilinmiyorsa -1
+    public long compressionNanos(String hash) {
+        return compressionNanos.computeIfAbsent(hash, key -> {
+            try {
+                return Long.parseLong(Files.readString(gzipCostPath(key), StandardCharsets.US_ASCII).trim());
+            } catch (IOException | NumberFormatException e) {
+                return -1L;
+            }
+        });
+    }
+
+    public boolean contains(String hash) {
+        return hash != null && Files.exists(textPath(hash)) && Files.exists(indexPath(hash));
+    }
+
+    // Depoda yoksa null döner
+    public StoredText open(String hash) {
+        if (!contains(hash)) return null;
+        return opened.computeIfAbsent(hash, this::map);
+    }
+
+    public long size(String hash) {
+        try {
+            return Files.size(textPath(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Ham metni hedef kanala kopyalar (dosya -> soket için işletim sistemi düzeyinde sıfır kopya)
+    public void transferTo(String hash, WritableByteChannel target) throws IOException {
+        transfer(textPath(hash), target);
+    }
+
+    private static void transfer(Path path, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    public static String hash(byte[] bytes) {
+        return Hashing.sha256Hex(bytes);
+    }
+
+    private static long measureCompression(byte[] bytes) throws IOException {
+        long start = System.nanoTime();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            gzip.write(bytes);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private StoredText map(String hash) {
+        try (FileChannel channel = FileChannel.open(textPath(hash), StandardOpenOption.READ);
+             InputStream in = Files.newInputStream(indexPath(hash))) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            DataInputStream data = new DataInputStream(in);
+            int count = data.readInt();
+            int[] starts = new int[count];
+            int[] ends = new int[count];
+            for (int i = 0; i < count; i++) {
+                starts[i] = data.readInt();
+                ends[i] = data.readInt();
+            }
+            return new StoredText(hash, bytes, starts, ends);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Metin depodan okunamadı: " + hash, e);
+        }
+    }
+
+    // Karakter ofsetleri UTF-8 bayt ofsetlerine çevrilerek yazılır
+    private static void writeIndex(RowIndex index, DataOutputStream out) throws IOException {
+        String text = index.getText();
+        int charPosition = 0;
+        int bytePosition = 0;
+
+        out.writeInt(index.size());
+        for (int row = 1; row <= index.size(); row++) {
+            bytePosition += utf8Length(text, charPosition, index.start(row));
+            int byteStart = bytePosition;
+            bytePosition += utf8Length(text, index.start(row), index.end(row));
+            charPosition = index.end(row);
+
+            out.writeInt(byteStart);
+            out.writeInt(bytePosition);
+        }
+        out.flush();
+    }
+
+    private static int utf8Length(String text, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // Tek başına kalan vekil karakter getBytes'ta '?' (1 bayt) olarak yazılır
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    private void writeAtomically(Path target, Writer writer) throws IOException {
+        Path temp = Files.createTempFile(directory, "tmp-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path textPath(String hash) {
+        return directory.resolve(hash + TEXT_SUFFIX);
+    }
+
+    private Path indexPath(String hash) {
+        return directory.resolve(hash + INDEX_SUFFIX);
+    }
+
+    private Path gzipPath(String hash) {
+        return directory.resolve(hash + GZIP_SUFFIX);
+    }
+
+    private Path gzipCostPath(String hash) {
+        return directory.resolve(hash + GZIP_COST_SUFFIX);
+    }
+
+    private static final class MaxGzipOutputStream extends GZIPOutputStream {
+        MaxGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,21 @@
+package com.readcircle.util;
+
+// Birleştirilmiş metin ve birleştirme sırasında çıkan satır ofset tablosu.
+public final class MergedText {
+
+    private final String text;
+    private final RowIndex rowIndex;
+
+    MergedText(String text, RowIndex rowIndex) {
+        this.text = text;
+        this.rowIndex = rowIndex;
+    }
+
+    // Birleştirmeden gelmeyen (tek dosya, sabit) metin; satır tablosu metinden bir kez kurulur
+    public static MergedText of(String text) {
+        return new MergedText(text, RowIndex.of(text));
+    }
+
+    public String getText() { return text; }
+    public RowIndex getRowIndex() { return rowIndex; }
+}
@@ -0,0 +1,79 @@
+package com.readcircle.util;
+
+import java.util.Arrays;
+
+// Birleştirilmiş metnin satır (ROW_SEPARATOR ile ayrılmış parça) başlangıç/bitiş ofsetleri.
+// Bir kez kurulur, sonrasında istenen satır aralığı metni yeniden bölmeden okunur.
+public final class RowIndex implements TextRows {
+
+    private final String text;
+    private final int[] starts;
+    private final int[] ends;
+
+    private RowIndex(String text, int[] starts, int[] ends) {
+        this.text = text;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    // String.split(ROW_SEPARATOR) ile aynı satırları üretir (sondaki boş parçalar atılır), regex kullanmaz.
+    public static RowIndex of(String text) {
+        if (text == null) text = "";
+        String separator = Constants.ROW_SEPARATOR;
+
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int count = 0;
+        int nonEmptyCount = 0;
+
+        int position = 0;
+        while (true) {
+            int next = text.indexOf(separator, position);
+            int end = next < 0 ? text.length() : next;
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = position;
+            ends[count] = end;
+            count++;
+            if (end > position) nonEmptyCount = count;
+
+            if (next < 0) break;
+            position = next + separator.length();
+        }
+
+        // Boş metin split'te tek boş parça verir
+        int rowCount = text.isEmpty() ? 1 : nonEmptyCount;
+        return new RowIndex(text, Arrays.copyOf(starts, rowCount), Arrays.copyOf(ends, rowCount));
+    }
+
+    // Ofsetleri önceden bilinen metin için (ör. RowMerger çıktısı)
+    static RowIndex ofOffsets(String text, int[] starts, int[] ends) {
+        return new RowIndex(text, starts, ends);
+    }
+
+    @Override
+    public int size() {
+        return starts.length;
+    }
+
+    @Override
+    public String row(int rowNumber) {
+        return text.substring(starts[rowNumber - 1], ends[rowNumber - 1]);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    // Satırın metindeki karakter ofsetleri (0 tabanlı, bitiş hariç)
+    public int start(int rowNumber) {
+        return starts[rowNumber - 1];
+    }
+
+    public int end(int rowNumber) {
+        return ends[rowNumber - 1];
+    }
+}
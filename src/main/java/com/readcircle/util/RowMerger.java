@@ -0,0 +1,52 @@
+package com.readcircle.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Aynı satır yapısındaki kaynakları (Arapça, Latince, meal...) aynı anda, parça parça okuyarak
+// "sütun1|||sütun2|||sütun3###..." biçiminde birleştirir. Kaynakların tamamı belleğe alınmaz;
+// satır sayısı en kısa kaynağa göre belirlenir ve satır ofsetleri yazılırken kaydedilir.
+public final class RowMerger {
+
+    private RowMerger() {}
+
+    // suffix null değilse her satırın sonuna son sütun olarak (trim edilmeden) eklenir
+    public static MergedText merge(List<RowScanner> columns, String suffix) {
+        StringBuilder out = new StringBuilder(64 * 1024);
+        int[] starts = new int[64];
+        int[] ends = new int[64];
+        int count = 0;
+
+        while (advanceAll(columns)) {
+            if (count > 0) out.append(Constants.ROW_SEPARATOR);
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = out.length();
+
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) out.append(Constants.FIELD_SEPARATOR);
+                columns.get(i).appendTrimmed(out);
+            }
+            if (suffix != null) out.append(Constants.FIELD_SEPARATOR).append(suffix);
+
+            ends[count] = out.length();
+            count++;
+        }
+
+        String text = out.toString();
+        if (count == 0) {
+            // Boş sonuç, RowIndex.of("") gibi tek boş satır olarak görülür
+            return new MergedText(text, RowIndex.of(text));
+        }
+        return new MergedText(text, RowIndex.ofOffsets(text, Arrays.copyOf(starts, count), Arrays.copyOf(ends, count)));
+    }
+
+    private static boolean advanceAll(List<RowScanner> columns) {
+        for (RowScanner column : columns) {
+            if (!column.advance()) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package com.readcircle.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+// Bir Reader'ı ROW_SEPARATOR ("###") üzerinden akış halinde parçalara ayırır; regex ve ara dizi kullanmaz.
+// Üretilen parçalar String.split(ROW_SEPARATOR) ile aynıdır: sondaki boş parçalar atılır,
+// boş girdi tek bir boş parça verir. Parça içeriği her çağrıda yeniden kullanılan tampondadır.
+public final class RowScanner implements AutoCloseable {
+
+    private static final char SEPARATOR_CHAR = '#';
+    private static final int SEPARATOR_LENGTH = Constants.ROW_SEPARATOR.length();
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int bufferPosition;
+    private int bufferLimit;
+
+    private final StringBuilder token = new StringBuilder(256);
+    private boolean exhausted;
+    private boolean started;
+    private boolean holding;
+    private int pendingEmpty;
+    private boolean currentEmpty;
+
+    public RowScanner(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Sıradaki parçaya geçer; parça kalmadıysa false döner
+    public boolean advance() {
+        if (pendingEmpty > 0) {
+            pendingEmpty--;
+            currentEmpty = true;
+            return true;
+        }
+        if (holding) {
+            holding = false;
+            currentEmpty = false;
+            return true;
+        }
+        if (exhausted) return false;
+
+        boolean firstToken = !started;
+        started = true;
+        boolean hasMore = readToken();
+        if (token.length() > 0) {
+            currentEmpty = false;
+            return true;
+        }
+        if (!hasMore) {
+            // Tamamen boş girdi split'te tek boş parça verir, sondaki boş parça ise atılır
+            currentEmpty = true;
+            return firstToken;
+        }
+
+        // Boş parça: arkasından dolu bir parça gelmiyorsa bunlar sondaki boşluklardır ve atılır
+        int empties = 1;
+        while (true) {
+            hasMore = readToken();
+            if (token.length() > 0) {
+                pendingEmpty = empties - 1;
+                holding = true;
+                currentEmpty = true;
+                return true;
+            }
+            if (!hasMore) return false;
+            empties++;
+        }
+    }
+
+    // Geçerli parçayı baştaki/sondaki boşlukları atarak hedefe ekler (String.trim ile aynı kural)
+    public void appendTrimmed(StringBuilder target) {
+        if (currentEmpty) return;
+        int start = 0;
+        int end = token.length();
+        while (start < end && token.charAt(start) <= ' ') start++;
+        while (end > start && token.charAt(end - 1) <= ' ') end--;
+        target.append(token, start, end);
+    }
+
+    // Bir sonraki ayırıcıya ya da dosya sonuna kadar okur; ayırıcı bulunduysa true döner
+    private boolean readToken() {
+        token.setLength(0);
+        int hashes = 0;
+        while (true) {
+            if (bufferPosition == bufferLimit && !fill()) {
+                for (int i = 0; i < hashes; i++) token.append(SEPARATOR_CHAR);
+                exhausted = true;
+                return false;
+            }
+            char c = buffer[bufferPosition++];
+            if (c == SEPARATOR_CHAR) {
+                if (++hashes == SEPARATOR_LENGTH) return true;
+                continue;
+            }
+            for (int i = 0; i < hashes; i++) token.append(SEPARATOR_CHAR);
+            hashes = 0;
+            token.append(c);
+        }
+    }
+
+    private boolean fill() {
+        try {
+            int read = reader.read(buffer, 0, buffer.length);
+            while (read == 0) read = reader.read(buffer, 0, buffer.length);
+            if (read < 0) return false;
+            bufferPosition = 0;
+            bufferLimit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
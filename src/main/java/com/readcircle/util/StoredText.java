@@ -0,0 +1,46 @@
+package com.readcircle.util;
+
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Diskteki (memory-mapped) UTF-8 metin ve satırlarının bayt ofsetleri.
+// Satır istendiğinde sadece o satırın baytları çözülür; metnin tamamı heap'e alınmaz.
+public final class StoredText implements TextRows {
+
+    private final String hash;
+    private final MappedByteBuffer bytes;
+    private final int[] starts;
+    private final int[] ends;
+
+    public StoredText(String hash, MappedByteBuffer bytes, int[] starts, int[] ends) {
+        this.hash = hash;
+        this.bytes = bytes;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public int byteLength() {
+        return bytes.capacity();
+    }
+
+    // Metnin tamamı (sadece eski, gövdeli cevaplar için)
+    public String text() {
+        return StandardCharsets.UTF_8.decode(bytes.slice(0, bytes.capacity())).toString();
+    }
+
+    @Override
+    public int size() {
+        return starts.length;
+    }
+
+    @Override
+    public String row(int rowNumber) {
+        int start = starts[rowNumber - 1];
+        int length = ends[rowNumber - 1] - start;
+        return StandardCharsets.UTF_8.decode(bytes.slice(start, length)).toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.readcircle.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Satırlara bölünmüş bir metin (bellekteki RowIndex ya da diskteki StoredText).
+public interface TextRows {
+
+    int size();
+
+    // 1 tabanlı satır numarası
+    String row(int rowNumber);
+
+    // 1 tabanlı, iki uç dahil
+    default List<String> rows(int from, int to) {
+        List<String> rows = new ArrayList<>(Math.max(0, to - from + 1));
+        for (int i = from; i <= to; i++) {
+            rows.add(row(i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,172 @@
+package com.readcircle.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.readcircle.dto.ProgressCounters;
+import com.readcircle.dto.ResourceProgress;
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import com.readcircle.service.DistributionService;
+import com.readcircle.service.SessionProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Toplu istekte her işlem kendi sonucunu alır; başarısız işlemler diğerlerini geri almaz
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class BatchOperationsTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private SessionProgressService progressService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+    @Autowired
+    private DistributionSessionRepository sessionRepository;
+
+    @Test
+    void mixedBatchReportsEachOperationSeparately() throws Exception {
+        DistributionSession session = createSession();
+        Map<Integer, Long> cevsen = cevsenParts(session);
+        ResourceDistribution yasin = distributionRepository.findBySession_Id(session.getId()).get(0);
+        distributionService.claimAssignment(cevsen.get(2), "baskasi");
+        Assignment mine = distributionService.claimAssignment(yasin.virtualId(3), "toplu");
+        long revisionBefore = sessionRepository.findRevisionByCode(session.getCode());
+
+        JsonNode result = batch(session, "toplu",
+                op("TAKE", cevsen.get(1)),
+                op("COMPLETE", cevsen.get(1)),
+                op("TAKE", yasin.virtualId(1)),
+                op("TAKE", cevsen.get(2)),
+                op("CANCEL", cevsen.get(3)),
+                op("TAKE", 999_999_999L),
+                op("CANCEL", yasin.virtualId(2)),
+                op("COMPLETE", yasin.virtualId(3)));
+
+        assertThat(statuses(result)).containsExactly(
+                "OK", "DUPLICATE", "OK", "CONFLICT", "FORBIDDEN", "NOT_FOUND", "FORBIDDEN", "OK");
+        // Tüm işlemler tek revizyonla yazılır
+        assertThat(result.get("revision").asLong()).isEqualTo(revisionBefore + 1);
+        assertThat(sessionRepository.findRevisionByCode(session.getCode())).isEqualTo(revisionBefore + 1);
+
+        assertThat(group(session, cevsenId(), 1)).extracting(Assignment::getAssignedToName).containsOnly("toplu");
+        assertThat(group(session, cevsenId(), 1)).noneMatch(Assignment::isCompleted);
+        assertThat(group(session, cevsenId(), 2)).extracting(Assignment::getAssignedToName).containsOnly("baskasi");
+        assertThat(group(session, cevsenId(), 3)).noneMatch(Assignment::isTaken);
+        assertThat(group(session, yasinId(), 1)).singleElement()
+                .extracting(Assignment::getAssignedToName).isEqualTo("toplu");
+        assertThat(group(session, yasinId(), 2)).isEmpty();
+        assertThat(assignmentRepository.findById(mine.getId()).orElseThrow().isCompleted()).isTrue();
+        // Sanal parça satıra dönüştüyse sonuç yeni satırın kimliğini taşır
+        assertThat(result.get("results").get(2).get("assignment").get("id").asLong()).isPositive();
+        assertCountersMatchRows(session);
+    }
+
+    @Test
+    void ownPartsAreCompletedAndCancelledInOneBatch() throws Exception {
+        DistributionSession session = createSession();
+        Map<Integer, Long> cevsen = cevsenParts(session);
+
+        JsonNode taken = batch(session, "toplu", op("TAKE", cevsen.get(1)), op("TAKE", cevsen.get(2)));
+        assertThat(statuses(taken)).containsExactly("OK", "OK");
+
+        JsonNode finished = batch(session, "toplu", op("COMPLETE", cevsen.get(1)), op("CANCEL", cevsen.get(2)));
+        assertThat(statuses(finished)).containsExactly("OK", "OK");
+
+        assertThat(group(session, cevsenId(), 1)).allMatch(Assignment::isCompleted);
+        assertThat(group(session, cevsenId(), 2)).noneMatch(Assignment::isTaken);
+        assertThat(group(session, cevsenId(), 2)).extracting(Assignment::getAssignedToName).containsOnlyNulls();
+        assertCountersMatchRows(session);
+    }
+
+    @Test
+    void unknownSessionIsNotFound() {
+        ResponseEntity<String> response = rest.postForEntity("/api/distribution/{code}/batch?name={name}",
+                Map.of("operations", List.of(op("TAKE", 1L))), String.class, "yok12345", "toplu");
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+    }
+
+    private DistributionSession createSession() {
+        return distributionService.createDistribution(List.of(cevsenId(), yasinId()), 5, null, "olusturan", null);
+    }
+
+    private Long cevsenId() {
+        return resourceRepository.findByCodeKey("CEVSEN").getId();
+    }
+
+    private Long yasinId() {
+        return resourceRepository.findByCodeKey("YASIN").getId();
+    }
+
+    // Katılımcı no -> o katılımcının Cevşen grubundaki ilk satır
+    private Map<Integer, Long> cevsenParts(DistributionSession session) {
+        Map<Integer, Long> parts = new TreeMap<>();
+        for (Assignment a : assignmentRepository.findBySession_Id(session.getId())) {
+            if (a.getResource().getId().equals(cevsenId())) parts.putIfAbsent(a.getParticipantNumber(), a.getId());
+        }
+        return parts;
+    }
+
+    private List<Assignment> group(DistributionSession session, Long resourceId, int participantNumber) {
+        return assignmentRepository.findBySession_Id(session.getId()).stream()
+                .filter(a -> a.getResource().getId().equals(resourceId) && a.getParticipantNumber() == participantNumber)
+                .toList();
+    }
+
+    private static Map<String, Object> op(String type, Long assignmentId) {
+        return Map.of("type", type, "assignmentId", assignmentId);
+    }
+
+    @SafeVarargs
+    private JsonNode batch(DistributionSession session, String name, Map<String, Object>... operations) throws Exception {
+        ResponseEntity<String> response = rest.postForEntity("/api/distribution/{code}/batch?name={name}",
+                Map.of("operations", List.of(operations)), String.class, session.getCode(), name);
+        assertThat(response.getStatusCode().value()).as(response.getBody()).isEqualTo(200);
+        return objectMapper.readTree(response.getBody());
+    }
+
+    private static List<String> statuses(JsonNode result) {
+        List<String> statuses = new ArrayList<>();
+        result.get("results").forEach(r -> statuses.add(r.get("status").asText()));
+        return statuses;
+    }
+
+    private void assertCountersMatchRows(DistributionSession session) {
+        Map<Long, ResourceProgress> expected = progressService.computeProgress(session.getId());
+        List<ProgressCounters> counters = progressService.getCounters(List.of(session.getCode())).get(session.getCode());
+        assertThat(counters).hasSize(expected.size());
+        for (ProgressCounters c : counters) {
+            ResourceProgress e = expected.get(c.getResourceId());
+            assertThat(c.getTakenParts()).as("alınan parça, kaynak %d", c.getResourceId()).isEqualTo(e.getTakenParts());
+            assertThat(c.getCompletedParts()).as("tamamlanan parça, kaynak %d", c.getResourceId())
+                    .isEqualTo(e.getCompletedParts());
+            assertThat(c.getTakenUnits()).isEqualTo(e.getTakenUnits());
+            assertThat(c.getCompletedUnits()).isEqualTo(e.getCompletedUnits());
+        }
+    }
+}
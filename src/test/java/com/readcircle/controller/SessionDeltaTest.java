@@ -0,0 +1,80 @@
+package com.readcircle.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import com.readcircle.service.DistributionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Fark cevabı: sanal parça alınınca yeni satır gelir, yerini aldığı negatif kimlik de bildirilir
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SessionDeltaTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+    @Autowired
+    private DistributionSessionRepository sessionRepository;
+
+    @Test
+    void materializedVirtualPartReportsReplacedId() throws Exception {
+        Long cevsenId = resourceRepository.findByCodeKey("CEVSEN").getId();
+        Long yasinId = resourceRepository.findByCodeKey("YASIN").getId();
+        DistributionSession session = distributionService.createDistribution(
+                List.of(cevsenId, yasinId), 5, null, "olusturan", null);
+        ResourceDistribution yasin = distributionRepository.findBySession_Id(session.getId()).get(0);
+        Assignment cevsenPart = assignmentRepository.findBySession_Id(session.getId()).get(0);
+        long since = sessionRepository.findRevisionByCode(session.getCode());
+
+        Assignment materialized = distributionService.claimAssignment(yasin.virtualId(2), "okuyucu");
+        distributionService.claimAssignment(cevsenPart.getId(), "okuyucu");
+
+        JsonNode delta = delta(session, since);
+        assertThat(delta.get("fullResync").asBoolean()).isFalse();
+        List<Long> ids = new ArrayList<>();
+        delta.get("assignments").forEach(a -> ids.add(a.get("id").asLong()));
+        assertThat(ids).contains(materialized.getId(), cevsenPart.getId()).allMatch(id -> id > 0);
+        // Cevşen satırları baştan vardır, yerini aldıkları sanal parça yoktur
+        List<Long> replaced = new ArrayList<>();
+        delta.get("replacedVirtualIds").forEach(id -> replaced.add(id.asLong()));
+        assertThat(replaced).containsExactly(yasin.virtualId(2));
+
+        // Değişiklik yoksa liste boştur
+        JsonNode unchanged = delta(session, sessionRepository.findRevisionByCode(session.getCode()));
+        assertThat(unchanged.get("assignments")).isEmpty();
+        assertThat(unchanged.get("replacedVirtualIds")).isEmpty();
+    }
+
+    private JsonNode delta(DistributionSession session, long since) throws Exception {
+        ResponseEntity<String> response = rest.getForEntity("/api/distribution/get/{code}?sinceRevision={since}",
+                String.class, session.getCode(), since);
+        assertThat(response.getStatusCode().value()).as(response.getBody()).isEqualTo(200);
+        return objectMapper.readTree(response.getBody());
+    }
+}
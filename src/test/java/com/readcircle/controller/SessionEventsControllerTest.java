@@ -0,0 +1,23 @@
+package com.readcircle.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SessionEventsControllerTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void unknownSessionIsNotSubscribed() {
+        assertThat(rest.getForEntity("/api/distribution/{code}/events", String.class, "yok12345")
+                .getStatusCode().value()).isEqualTo(404);
+    }
+}
@@ -0,0 +1,135 @@
+package com.readcircle.controller;
+
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import com.readcircle.service.DistributionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Aynı parçayı aynı anda alan istemcilerden yalnızca biri kazanmalı, diğerleri 409 almalı
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TakeAssignmentConcurrencyTest {
+
+    private static final int CLAIMERS = 16;
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+
+    @Test
+    void parallelTakesOfOnePartHaveSingleWinner() throws Exception {
+        // Cevşen satırları oturum kurulurken oluşur; alma koşullu UPDATE yolundan geçer
+        DistributionSession session = createSession("CEVSEN");
+        Assignment part = assignmentRepository.findBySession_Id(session.getId()).get(0);
+
+        Map<String, Integer> statuses = takeInParallel(part.getId());
+
+        String winner = assertSingleWinner(statuses);
+        List<Assignment> group = groupRows(session.getId(), part.getParticipantNumber());
+        assertThat(group).isNotEmpty();
+        assertThat(group).extracting(Assignment::getAssignedToName).containsOnly(winner);
+    }
+
+    @Test
+    void parallelFirstTakesOfVirtualPartHaveSingleWinner() throws Exception {
+        // Yasin düz dağıtılır; parçanın satırı ilk alışta oluşturulur
+        DistributionSession session = createSession("YASIN");
+        ResourceDistribution distribution = distributionRepository.findBySession_Id(session.getId()).get(0);
+
+        Map<String, Integer> statuses = takeInParallel(distribution.virtualId(1));
+
+        String winner = assertSingleWinner(statuses);
+        List<Assignment> rows = groupRows(session.getId(), 1);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getAssignedToName()).isEqualTo(winner);
+    }
+
+    @Test
+    void unknownPartIsNotFound() {
+        ResponseEntity<String> missingRow = rest.postForEntity(
+                "/api/distribution/take/{id}?name={name}", null, String.class, 999_999_999L, "okuyucu");
+        ResponseEntity<String> missingSlot = rest.postForEntity(
+                "/api/distribution/take/{id}?name={name}", null, String.class, -999_999_999_001L, "okuyucu");
+
+        assertThat(missingRow.getStatusCode().value()).isEqualTo(404);
+        assertThat(missingSlot.getStatusCode().value()).isEqualTo(404);
+    }
+
+    private DistributionSession createSession(String codeKey) {
+        Long resourceId = resourceRepository.findByCodeKey(codeKey).getId();
+        return distributionService.createDistribution(List.of(resourceId), 5, null, "olusturan", null);
+    }
+
+    private Map<String, Integer> takeInParallel(long assignmentId) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CLAIMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Integer> statuses = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLAIMERS; i++) {
+                String name = "okuyucu" + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    ResponseEntity<String> response = rest.postForEntity(
+                            "/api/distribution/take/{id}?name={name}", null, String.class, assignmentId, name);
+                    statuses.put(name, response.getStatusCode().value());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return statuses;
+    }
+
+    private static String assertSingleWinner(Map<String, Integer> statuses) {
+        assertThat(statuses).hasSize(CLAIMERS);
+        List<String> winners = statuses.entrySet().stream()
+                .filter(e -> e.getValue() == 200)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(winners).hasSize(1);
+        assertThat(statuses.values()).filteredOn(status -> status != 200)
+                .hasSize(CLAIMERS - 1)
+                .containsOnly(409);
+        return winners.get(0);
+    }
+
+    private List<Assignment> groupRows(Long sessionId, int participantNumber) {
+        return assignmentRepository.findBySession_Id(sessionId).stream()
+                .filter(a -> a.getParticipantNumber() == participantNumber)
+                .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.readcircle.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import com.readcircle.service.DistributionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sanal parçanın tekli alınışı ve toplu işlem aynı oturum ve dağıtım satırlarını kilitler; ikisi de önce
+// oturumu kilitlemezse birbirini bekleyip kilitlenir ve istemciye 404 döner
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TakeBatchLockOrderTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+
+    @Test
+    void virtualTakeAndBatchOnSameDistributionBothSucceed() throws Exception {
+        Long resourceId = resourceRepository.findByCodeKey("YASIN").getId();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                DistributionSession session = distributionService.createDistribution(
+                        List.of(resourceId), 5, null, "olusturan", null);
+                ResourceDistribution distribution = distributionRepository.findBySession_Id(session.getId()).get(0);
+                long single = distribution.virtualId(1);
+                long batched = distribution.virtualId(2);
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<ResponseEntity<String>> take = pool.submit(() -> {
+                    start.await();
+                    return rest.postForEntity("/api/distribution/take/{id}?name={name}",
+                            null, String.class, single, "tekli");
+                });
+                Future<ResponseEntity<String>> batch = pool.submit(() -> {
+                    start.await();
+                    Map<String, Object> body = Map.of("operations",
+                            List.of(Map.of("type", "TAKE", "assignmentId", batched)));
+                    return rest.postForEntity("/api/distribution/{code}/batch?name={name}",
+                            body, String.class, session.getCode(), "toplu");
+                });
+                start.countDown();
+
+                ResponseEntity<String> takeResponse = take.get(30, TimeUnit.SECONDS);
+                ResponseEntity<String> batchResponse = batch.get(30, TimeUnit.SECONDS);
+                assertThat(takeResponse.getStatusCode().value()).as("take, tur %d: %s", round, takeResponse.getBody())
+                        .isEqualTo(200);
+                assertThat(batchResponse.getStatusCode().value()).as("batch, tur %d: %s", round, batchResponse.getBody())
+                        .isEqualTo(200);
+                JsonNode result = objectMapper.readTree(batchResponse.getBody()).get("results").get(0);
+                assertThat(result.get("status").asText()).isEqualTo("OK");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.readcircle.service;
+
+import com.readcircle.model.DistributionSession;
+import com.readcircle.repository.ResourceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Oturum kurulurken parça satırlarının yazılma hızı (satır/sn) ve hazırlanan JDBC ifadesi sayısı.
+// Normal test turunda çalışmaz:
+//   mvn -B test -Dtest=AssignmentInsertBenchmarkTest -Dbenchmark=true
+// PostgreSQL'de ölçmek için test profilindeki H2 adresi komut satırından ezilir:
+//   -Dspring.datasource.url='jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true'
+//   -Dspring.datasource.username=... -Dspring.datasource.password=...
+//   -Dspring.datasource.driver-class-name=org.postgresql.Driver
+//   -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect
+// Toplu yazmasız karşılaştırma için: -Dspring.jpa.properties.hibernate.jdbc.batch_size=1
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AssignmentInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AssignmentInsertBenchmarkTest.class);
+
+    private static final int[] PARTICIPANTS = {100, 1_000, 10_000};
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1}")
+    private int batchSize;
+
+    @Test
+    void sessionCreationRowsPerSecond() {
+        Long quranId = resourceRepository.findByCodeKey("QURAN").getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int participants : PARTICIPANTS) {
+            // Her katılımcıya birkaç sayfa düşecek kadar hatim; satır sayısı katılımcıyla orantılı büyür
+            Map<Long, Integer> copies = Map.of(quranId, Math.max(1, participants / 100));
+            for (int i = 0; i < WARMUP_ROUNDS; i++) create(quranId, participants, copies);
+
+            long bestNanos = Long.MAX_VALUE;
+            long rows = 0;
+            long statements = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                statistics.clear();
+                long start = System.nanoTime();
+                create(quranId, participants, copies);
+                long nanos = System.nanoTime() - start;
+                if (nanos < bestNanos) {
+                    bestNanos = nanos;
+                    rows = statistics.getEntityInsertCount();
+                    statements = statistics.getPrepareStatementCount();
+                }
+            }
+
+            long rowsPerSecond = rows * 1_000_000_000L / bestNanos;
+            log.info("{} katılımcı (batch_size={}): {} satır, {} ms, {} satır/sn, {} JDBC ifadesi",
+                    participants, batchSize, rows, bestNanos / 1_000_000, rowsPerSecond, statements);
+            // Toplu yazma açıkken satırlar tek tek değil, batch_size'lık gruplar hâlinde gönderilmeli
+            if (batchSize > 1) assertThat(statements).isLessThan(rows * 2 / batchSize + 20);
+        }
+    }
+
+    private DistributionSession create(Long quranId, int participants, Map<Long, Integer> copies) {
+        return distributionService.createDistribution(List.of(quranId), participants, copies, "olcum", null);
+    }
+}
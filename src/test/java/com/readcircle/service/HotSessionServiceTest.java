@@ -0,0 +1,380 @@
+package com.readcircle.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.readcircle.dto.AssignmentView;
+import com.readcircle.dto.ProgressCounters;
+import com.readcircle.exception.AssignmentAlreadyTakenException;
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sıcak oturum: bellekteki anlık görüntü ve sayaçlar her yazmadan sonra veritabanıyla aynı kalmalı;
+// normal moda dönüşler (elle, boşta kalma, başka yazıcı) komut kaybetmeden normal yola devretmeli
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.hot-sessions.enabled=true",
+        "app.hot-sessions.promote-writes=10",
+        "app.hot-sessions.idle-ms=1000"
+})
+@ActiveProfiles("test")
+class HotSessionServiceTest {
+
+    private static final int WRITERS = 4;
+    private static final int OPERATIONS = 60;
+    private static final int PARTICIPANTS = 8;
+
+    @Autowired
+    private HotSessionService hotSessions;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ProgressBuffer progressBuffer;
+    @Autowired
+    private SessionProgressService progressService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+    @Autowired
+    private DistributionSessionRepository sessionRepository;
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void concurrentWritersKeepSnapshotAndCountersInSync() throws Exception {
+        DistributionSession session = createSession();
+        List<Long> parts = parts(session);
+        promote(session, parts.get(0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                String name = "okuyucu" + w;
+                Random random = new Random(w);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    write(parts, name, random);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(hotSessions.snapshot(session.getCode())).as("oturum sıcak kalmalı").isNotNull();
+        // Sanal parçaların ilk alımları sıcak işlemin içinde satıra dönüştü
+        assertThat(assignmentRepository.findBySession_Id(session.getId()))
+                .anyMatch(a -> a.getResource().getId().equals(yasinId()));
+        assertViewMatchesDatabase(session);
+        assertCountersMatchSummary(session);
+    }
+
+    @Test
+    void virtualFirstTakeInHotTransactionKeepsSessionHot() {
+        DistributionSession session = createSession();
+        List<Long> parts = parts(session);
+        promote(session, parts.get(0));
+        ResourceDistribution yasin = yasinDistribution(session);
+
+        AssignmentView taken = hotSessions.claimAssignment(yasin.virtualId(3), "ilk");
+        hotSessions.updateProgress(taken.getId(), 4, "ilk");
+        AssignmentView again = hotSessions.claimAssignment(yasin.virtualId(3), "ilk");
+
+        // Sanal alım revizyonu kendi de artırır; sonraki komut eski durum sanılıp normal moda düşmemeli
+        assertThat(hotSessions.snapshot(session.getCode())).isNotNull();
+        assertThat(again.getId()).isEqualTo(taken.getId());
+        // Cevap aktörün satırından kurulur; tampondaki ilerleme de içindedir
+        assertThat(again.getAssignedToName()).isEqualTo("ilk");
+        assertThat(again.getCurrentCount()).isEqualTo(4);
+        List<Assignment> rows = assignmentRepository.findBySession_Id(session.getId()).stream()
+                .filter(a -> a.getResource().getId().equals(yasin.getResource().getId()))
+                .toList();
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getAssignedToName()).isEqualTo("ilk");
+        assertThat(rows.get(0).getCurrentCount()).isEqualTo(4);
+        assertViewMatchesDatabase(session);
+        assertCountersMatchSummary(session);
+    }
+
+    @Test
+    void evictedSessionReloadsChangesMadeInNormalMode() {
+        DistributionSession session = createSession();
+        List<Long> parts = parts(session);
+        promote(session, parts.get(0));
+
+        hotSessions.evict(session.getCode());
+        assertThat(hotSessions.snapshot(session.getCode())).isNull();
+
+        // Normal moddaki alım ve tampondaki ilerleme yeniden yüklemede görünmeli
+        AssignmentView taken = hotSessions.claimAssignment(parts.get(1), "normal");
+        hotSessions.updateProgress(taken.getId(), 7, "normal");
+        promote(session, parts.get(2));
+
+        SessionSnapshot snapshot = hotSessions.snapshot(session.getCode());
+        assertThat(snapshot.getRevision()).isEqualTo(sessionRepository.findRevisionByCode(session.getCode()));
+        JsonNode row = viewRow(session, taken.getId());
+        assertThat(row.get("assignedToName").asText()).isEqualTo("normal");
+        assertThat(row.get("currentCount").asInt()).isEqualTo(7);
+        assertViewMatchesDatabase(session);
+        assertCountersMatchSummary(session);
+    }
+
+    @Test
+    void writeFromAnotherWriterSendsSessionBackToNormalMode() {
+        DistributionSession session = createSession();
+        List<Long> parts = parts(session);
+        promote(session, parts.get(0));
+
+        // Sıcak oturumu atlayan yazma (başka bir düğüm gibi): revizyon bellektekinin önüne geçer
+        distributionService.claimAssignment(parts.get(1), "baska-dugum");
+
+        AssignmentView taken = hotSessions.claimAssignment(parts.get(2), "okuyucu");
+        assertThat(taken.getAssignedToName()).isEqualTo("okuyucu");
+        assertThat(hotSessions.snapshot(session.getCode())).isNull();
+        assertThatThrownTake(parts.get(1), "okuyucu");
+
+        assertThat(viewRow(session, parts.get(1)).get("assignedToName").asText()).isEqualTo("baska-dugum");
+        assertViewMatchesDatabase(session);
+        assertCountersMatchSummary(session);
+    }
+
+    @Test
+    void cooledSessionFallsBackToNormalPath() {
+        DistributionSession session = createSession();
+        List<Long> parts = parts(session);
+        promote(session, parts.get(0));
+
+        await(() -> {
+            hotSessions.evictIdle();
+            return hotSessions.snapshot(session.getCode()) == null;
+        });
+
+        AssignmentView taken = hotSessions.claimAssignment(parts.get(1), "soguk");
+        hotSessions.updateProgress(taken.getId(), 2, "soguk");
+        assertThat(hotSessions.snapshot(session.getCode())).isNull();
+
+        progressBuffer.flush();
+        Assignment row = assignmentRepository.findById(taken.getId()).orElseThrow();
+        assertThat(row.getAssignedToName()).isEqualTo("soguk");
+        assertThat(row.getCurrentCount()).isEqualTo(2);
+        assertViewMatchesDatabase(session);
+        assertCountersMatchSummary(session);
+    }
+
+    @Test
+    void batchRunsInNormalModeAndSessionWarmsUpAgain() {
+        DistributionSession session = createSession();
+        List<Long> parts = parts(session);
+        promote(session, parts.get(0));
+        long virtual = yasinDistribution(session).virtualId(2);
+
+        Map<String, Object> body = Map.of("operations", List.of(
+                Map.of("type", "TAKE", "assignmentId", parts.get(1)),
+                Map.of("type", "TAKE", "assignmentId", virtual)));
+        JsonNode result = json(rest.postForObject("/api/distribution/{code}/batch?name={name}", body, String.class,
+                session.getCode(), "toplu"));
+
+        assertThat(result.get("results")).extracting(r -> r.get("status").asText()).containsExactly("OK", "OK");
+        // Toplu istek kendi işleminde yazıldı; oturum normal moda döndü
+        assertThat(hotSessions.snapshot(session.getCode())).isNull();
+        assertViewMatchesDatabase(session);
+
+        promote(session, parts.get(2));
+        assertThat(viewRow(session, parts.get(1)).get("assignedToName").asText()).isEqualTo("toplu");
+        assertViewMatchesDatabase(session);
+        assertCountersMatchSummary(session);
+    }
+
+    // Her yazıcı rastgele parçaları alır; aldığına ilerleme yazar, tamamlar ya da bırakır
+    private void write(List<Long> parts, String name, Random random) {
+        Set<Long> completed = new HashSet<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            Long part = parts.get(random.nextInt(parts.size()));
+            if (completed.contains(part)) continue;
+            AssignmentView taken;
+            try {
+                taken = hotSessions.claimAssignment(part, name);
+            } catch (AssignmentAlreadyTakenException e) {
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0 -> hotSessions.updateProgress(taken.getId(), random.nextInt(10), name);
+                case 1 -> {
+                    hotSessions.completeAssignment(taken.getId(), name);
+                    completed.add(part);
+                }
+                default -> hotSessions.cancelAssignment(taken.getId(), name);
+            }
+        }
+    }
+
+    private DistributionSession createSession() {
+        Long cevsen = resourceRepository.findByCodeKey("CEVSEN").getId();
+        return distributionService.createDistribution(List.of(cevsen, yasinId()), PARTICIPANTS, null, "olusturan", null);
+    }
+
+    private Long yasinId() {
+        return resourceRepository.findByCodeKey("YASIN").getId();
+    }
+
+    private ResourceDistribution yasinDistribution(DistributionSession session) {
+        return distributionRepository.findBySession_Id(session.getId()).get(0);
+    }
+
+    // Katılımcı başına birer Cevşen satırı ve Yasin'in sanal parçaları
+    private List<Long> parts(DistributionSession session) {
+        Map<Integer, Long> rows = new HashMap<>();
+        for (Assignment a : assignmentRepository.findBySession_Id(session.getId())) {
+            rows.putIfAbsent(a.getParticipantNumber(), a.getId());
+        }
+        List<Long> parts = new ArrayList<>(rows.values());
+        ResourceDistribution yasin = yasinDistribution(session);
+        for (int pNum = 1; pNum <= PARTICIPANTS; pNum++) {
+            if (yasin.hasSlot(pNum)) parts.add(yasin.virtualId(pNum));
+        }
+        return parts;
+    }
+
+    // Kısa sürede promote-writes kadar yazma alan oturum sıcak moda geçer
+    private void promote(DistributionSession session, Long part) {
+        await(() -> {
+            hotSessions.claimAssignment(part, "isitici");
+            hotSessions.cancelAssignment(part, "isitici");
+            return hotSessions.snapshot(session.getCode()) != null;
+        });
+    }
+
+    private void assertThatThrownTake(Long part, String name) {
+        try {
+            hotSessions.claimAssignment(part, name);
+        } catch (AssignmentAlreadyTakenException e) {
+            return;
+        }
+        throw new AssertionError("Başkasının aldığı parça alınabildi: " + part);
+    }
+
+    // /get cevabı (sıcakken bellekteki anlık görüntü) parça tablosuyla birebir aynı olmalı
+    private void assertViewMatchesDatabase(DistributionSession session) {
+        JsonNode view = view(session);
+        assertThat(view.get("revision").asLong()).isEqualTo(sessionRepository.findRevisionByCode(session.getCode()));
+
+        Map<Long, AssignmentView> rows = new HashMap<>();
+        Set<String> materialized = new HashSet<>();
+        for (AssignmentView row : assignmentRepository.findViewsBySessionId(session.getId())) {
+            rows.put(row.getId(), row);
+            materialized.add(row.getResourceId() + "/" + row.getParticipantNumber());
+        }
+
+        int rowsInView = 0;
+        for (JsonNode node : view.get("assignments")) {
+            long id = node.get("id").asLong();
+            if (id < 0) {
+                assertThat(materialized).as("satırı olan sanal parça %d", id)
+                        .doesNotContain(node.get("resourceId").asLong() + "/" + node.get("participantNumber").asInt());
+                assertThat(node.get("isTaken").asBoolean()).isFalse();
+                continue;
+            }
+            rowsInView++;
+            AssignmentView row = rows.get(id);
+            assertThat(row).as("parça %d", id).isNotNull();
+            assertThat(node.get("isTaken").asBoolean()).as("parça %d alındı", id).isEqualTo(row.isTaken());
+            assertThat(node.get("isCompleted").asBoolean()).as("parça %d tamamlandı", id).isEqualTo(row.isCompleted());
+            assertThat(node.get("assignedToName").isNull() ? null : node.get("assignedToName").asText())
+                    .as("parça %d alan", id).isEqualTo(row.getAssignedToName());
+            assertThat(node.get("currentCount").isNull() ? null : node.get("currentCount").asInt())
+                    .as("parça %d sayaç", id).isEqualTo(row.getCurrentCount());
+        }
+        assertThat(rowsInView).isEqualTo(rows.size());
+    }
+
+    // session_progress sayaçları /summary'nin parça tablosundan hesapladığı toplamlarla aynı olmalı
+    private void assertCountersMatchSummary(DistributionSession session) {
+        JsonNode summary = json(rest.getForObject("/api/distribution/{code}/summary", String.class, session.getCode()));
+        Map<Long, JsonNode> expected = new HashMap<>();
+        for (JsonNode node : summary.get("progress")) {
+            expected.put(node.get("resourceId").asLong(), node);
+        }
+
+        List<ProgressCounters> counters = progressService.getCounters(List.of(session.getCode())).get(session.getCode());
+        assertThat(counters).hasSize(expected.size());
+        for (ProgressCounters c : counters) {
+            JsonNode e = expected.get(c.getResourceId());
+            assertThat(e).as("kaynak %d", c.getResourceId()).isNotNull();
+            assertThat(c.getParts()).isEqualTo(e.get("parts").asLong());
+            assertThat(c.getTakenParts()).as("alınan parça, kaynak %d", c.getResourceId())
+                    .isEqualTo(e.get("takenParts").asLong());
+            assertThat(c.getCompletedParts()).as("tamamlanan parça, kaynak %d", c.getResourceId())
+                    .isEqualTo(e.get("completedParts").asLong());
+            assertThat(c.getUnits()).isEqualTo(e.get("units").asLong());
+            assertThat(c.getTakenUnits()).isEqualTo(e.get("takenUnits").asLong());
+            assertThat(c.getCompletedUnits()).isEqualTo(e.get("completedUnits").asLong());
+        }
+    }
+
+    private JsonNode viewRow(DistributionSession session, Long id) {
+        for (JsonNode node : view(session).get("assignments")) {
+            if (node.get("id").asLong() == id) return node;
+        }
+        throw new AssertionError("Parça görünümde yok: " + id);
+    }
+
+    private JsonNode view(DistributionSession session) {
+        return json(rest.getForObject("/api/distribution/get/{code}?lang=tr", String.class, session.getCode()));
+    }
+
+    private JsonNode json(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new AssertionError("Geçersiz JSON: " + body, e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("Koşul 15 sn içinde sağlanmadı");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
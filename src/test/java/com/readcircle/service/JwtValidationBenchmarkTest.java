@@ -0,0 +1,63 @@
+package com.readcircle.service;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bearer token doğrulamasının istek başına maliyeti (ns):
+//  - eski filtre yolu: anahtar ve parser her istekte yeniden kurulur
+//  - paylaşılan parser, önbelleksiz: imza ve claim çözümlemesi her istekte yapılır
+//  - JwtService.validate, önbellekte bulunan token
+// Normal test turunda çalışmaz:
+//   mvn -B test -Dtest=JwtValidationBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtValidationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtValidationBenchmarkTest.class);
+
+    private static final String SECRET = "TestOnlySecretKeyForReadCircleIntegrationTestsLongEnough2024";
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 50_000;
+
+    @Test
+    void validationCostPerRequest() {
+        JwtService jwtService = new JwtService(SECRET);
+        String token = jwtService.generateToken("olcum");
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        JwtParser sharedParser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        long perCall = measure(token, t -> Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(t)
+                .getBody()
+                .getSubject());
+        long shared = measure(token, t -> sharedParser.parseClaimsJws(t).getBody().getSubject());
+        long cached = measure(token, jwtService::validate);
+
+        log.info("Token doğrulama (istek başına): her istekte kurulan parser {} ns, paylaşılan parser {} ns, önbellek {} ns",
+                perCall, shared, cached);
+        assertThat(cached).isLessThan(perCall);
+    }
+
+    private static long measure(String token, Function<String, String> validate) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) assertThat(validate.apply(token)).isEqualTo("olcum");
+
+        int sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) sink += validate.apply(token).length();
+        long nanos = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return nanos / MEASURED_ROUNDS;
+    }
+}
@@ -0,0 +1,69 @@
+package com.readcircle.service;
+
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.event.SessionChangeType;
+import com.readcircle.event.SessionChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Aynı JVM'deki düğümler: duyuru gönderen dışındaki düğümlere, işlem içindeyse commit'ten sonra ulaşır.
+// Aynı JVM'de başka test bağlamlarının düğümleri de olabilir; onları etkilememek için ALL gönderilmez.
+class LocalInvalidationBusTest {
+
+    private final List<Object> sent = new ArrayList<>();
+    private final List<Object> received = new ArrayList<>();
+    private final LocalInvalidationBus sender = new LocalInvalidationBus(sent::add);
+    private final LocalInvalidationBus receiver = new LocalInvalidationBus(received::add);
+
+    @AfterEach
+    void close() {
+        sender.close();
+        receiver.close();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void announcementsReachOtherNodesOnly() {
+        sender.publishCatalog();
+        sender.onSessionChanged(SessionChangedEvent.of("yerel001", SessionChangeType.CLAIMED, 7));
+
+        assertThat(sent).isEmpty();
+        assertThat(received).hasSize(2);
+        assertThat(((CacheInvalidationEvent) received.get(0)).getScope()).isEqualTo(CacheInvalidationEvent.Scope.CATALOG);
+        CacheInvalidationEvent session = (CacheInvalidationEvent) received.get(1);
+        assertThat(session.getScope()).isEqualTo(CacheInvalidationEvent.Scope.SESSION);
+        assertThat(session.getCode()).isEqualTo("yerel001");
+        assertThat(session.getRevision()).isEqualTo(7);
+    }
+
+    @Test
+    void announcementInTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        sender.publishCatalog();
+        assertThat(received).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    void closedNodeReceivesNothing() {
+        receiver.close();
+
+        sender.publishCatalog();
+
+        assertThat(received).isEmpty();
+    }
+}
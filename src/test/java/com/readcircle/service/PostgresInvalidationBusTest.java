@@ -0,0 +1,58 @@
+package com.readcircle.service;
+
+import com.readcircle.event.CacheInvalidationEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Gelen duyurunun çözümlenmesi: diğer düğümlerin duyuruları olaya dönüşür, kendi duyurumuz ve bozuk içerik düşer.
+// Bağlantı kullanılmaz; receive() dinleyici iş parçacığının her duyuru için çağırdığı yoldur.
+class PostgresInvalidationBusTest {
+
+    private final List<Object> published = new ArrayList<>();
+    private final PostgresInvalidationBus bus = new PostgresInvalidationBus(null, null, published::add);
+
+    @Test
+    void otherNodesAnnouncementsArePublished() {
+        bus.receive("baska001|S|ABC123|42");
+        bus.receive("baska001|C");
+        bus.receive("baska002|A");
+
+        assertThat(published).hasSize(3);
+        CacheInvalidationEvent session = (CacheInvalidationEvent) published.get(0);
+        assertThat(session.getScope()).isEqualTo(CacheInvalidationEvent.Scope.SESSION);
+        assertThat(session.getCode()).isEqualTo("ABC123");
+        assertThat(session.getRevision()).isEqualTo(42);
+        assertThat(((CacheInvalidationEvent) published.get(1)).getScope()).isEqualTo(CacheInvalidationEvent.Scope.CATALOG);
+        assertThat(((CacheInvalidationEvent) published.get(2)).isAll()).isTrue();
+    }
+
+    @Test
+    void ownAnnouncementsAreIgnored() {
+        bus.receive(bus.nodeId() + "|S|ABC123|42");
+        bus.receive(bus.nodeId() + "|C");
+        bus.receive(bus.nodeId() + "|A");
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void malformedPayloadsAreRejected() {
+        bus.receive("");
+        bus.receive("baska001");
+        bus.receive("baska001|X");
+        bus.receive("baska001|S|ABC123");
+        bus.receive("baska001|S|ABC123|kirk");
+        bus.receive("baska001|S||42");
+        bus.receive("baska001|S|ABC123|42|fazla");
+        bus.receive("baska001|C|fazla");
+
+        assertThat(published).isEmpty();
+        // Bozuk duyurudan sonra gelenler işlenmeye devam eder
+        bus.receive("baska001|C");
+        assertThat(published).hasSize(1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.readcircle.service;
+
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sayaç dokunuşları bellekte bekler, flush ile yazılır; sahipliği değiştiren işlemden sonra eski dokunuş
+// hiçbir zaman yazılmamalı. Zamanlanmış flush kapalıdır, testler flush()'u kendisi çağırır.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.progress.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ProgressBufferTest {
+
+    @Autowired
+    private ProgressBuffer progressBuffer;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+    @Autowired
+    private DistributionSessionRepository sessionRepository;
+
+    @Test
+    void tapIsVisibleBeforeFlushAndPersistedAfter() {
+        Assignment part = takeCounter("okuyucu");
+        long revisionBefore = revision(part);
+
+        distributionService.updateProgress(part.getId(), 120, "okuyucu");
+
+        // Okumalar bekleyen değeri görür, veritabanı henüz eski değerdedir
+        assertThat(progressBuffer.pendingCount(part.getId())).isEqualTo(120);
+        assertThat(progressBuffer.tapVersion(part.getSession().getCode())).isPositive();
+        assertThat(stored(part).getCurrentCount()).isEqualTo(part.getCurrentCount());
+
+        progressBuffer.flush();
+
+        assertThat(stored(part).getCurrentCount()).isEqualTo(120);
+        assertThat(progressBuffer.pendingCount(part.getId())).isNull();
+        assertThat(progressBuffer.tapVersion(part.getSession().getCode())).isZero();
+        assertThat(revision(part)).isEqualTo(revisionBefore + 1);
+    }
+
+    @Test
+    void tapsOfOnePartAreCoalescedIntoLastValue() {
+        Assignment part = takeCounter("okuyucu");
+        long revisionBefore = revision(part);
+
+        for (int count = 1; count <= 50; count++) {
+            distributionService.updateProgress(part.getId(), count, "okuyucu");
+        }
+        progressBuffer.flush();
+
+        assertThat(stored(part).getCurrentCount()).isEqualTo(50);
+        assertThat(revision(part)).as("oturum başına tek revizyon").isEqualTo(revisionBefore + 1);
+    }
+
+    @Test
+    void tapFollowedByCancelIsNotApplied() {
+        Assignment part = takeCounter("okuyucu");
+
+        distributionService.updateProgress(part.getId(), 77, "okuyucu");
+        distributionService.cancelAssignment(part.getId(), "okuyucu");
+
+        assertThat(progressBuffer.pendingCount(part.getId())).isNull();
+
+        // Parça bu arada başkasına geçse de eski dokunuş yeni sahibin sayacını ezmemeli
+        distributionService.claimAssignment(part.getId(), "baskasi");
+        progressBuffer.flush();
+
+        Assignment after = stored(part);
+        assertThat(after.getAssignedToName()).isEqualTo("baskasi");
+        assertThat(after.getCurrentCount()).isEqualTo(part.getCurrentCount());
+        assertThat(progressBuffer.tapVersion(part.getSession().getCode())).isZero();
+    }
+
+    @Test
+    void tapOnCompletedPartIsDropped() {
+        Assignment part = takeCounter("okuyucu");
+        distributionService.updateProgress(part.getId(), 40, "okuyucu");
+        progressBuffer.flush();
+        distributionService.completeAssignment(part.getId(), "okuyucu");
+        long revisionAfterComplete = revision(part);
+        int countAfterComplete = stored(part).getCurrentCount();
+
+        distributionService.updateProgress(part.getId(), 999, "okuyucu");
+
+        assertThat(progressBuffer.pendingCount(part.getId())).isNull();
+        assertThat(progressBuffer.tapVersion(part.getSession().getCode())).isZero();
+        progressBuffer.flush();
+        assertThat(stored(part).getCurrentCount()).isEqualTo(countAfterComplete);
+        assertThat(revision(part)).isEqualTo(revisionAfterComplete);
+    }
+
+    // Münciye sayaçlı ve sanal dağıtılır; ilk alış parçanın satırını oluşturur
+    private Assignment takeCounter(String name) {
+        Long resourceId = resourceRepository.findByCodeKey("MUNCIYE").getId();
+        DistributionSession session = distributionService.createDistribution(
+                List.of(resourceId), 3, null, "olusturan", null);
+        ResourceDistribution distribution = distributionRepository.findBySession_Id(session.getId()).get(0);
+        Assignment part = distributionService.claimAssignment(distribution.virtualId(1), name);
+        assertThat(part.getId()).isPositive();
+        return part;
+    }
+
+    private Assignment stored(Assignment part) {
+        return assignmentRepository.findById(part.getId()).orElseThrow();
+    }
+
+    private long revision(Assignment part) {
+        return sessionRepository.findRevisionByCode(part.getSession().getCode());
+    }
+}
@@ -0,0 +1,90 @@
+package com.readcircle.service;
+
+import com.readcircle.util.Constants;
+import com.readcircle.util.MergedText;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Seed metinlerinin birleştirilmesi: akışla okuyan RowMerger ile eski yöntem (dosyanın tamamını okuyup
+// String.split ile bölmek) karşılaştırılır. Çıktılar aynı olmalı; birleştirme başına süre ve ayrılan bellek yazılır.
+// Normal test turunda çalışmaz:
+//   mvn -B test -Dtest=ResourceMergeBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResourceMergeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceMergeBenchmarkTest.class);
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+
+    private final ResourceLoaderService loader = new ResourceLoaderService();
+
+    @Test
+    void cevsenThreeColumns() {
+        List<String> files = List.of("cevsen.txt", "cevsen_latin.txt", "cevsen_tr.txt");
+        compare("Cevşen", () -> loader.mergeFiles(files, null).getText(), () -> splitMerge(files, null));
+    }
+
+    @Test
+    void bedirTwoColumnsWithSuffix() {
+        List<String> files = List.of("bedir.txt", "bedir_latin.txt");
+        String suffix = "Meal hazırlanıyor...";
+        compare("Bedir", () -> loader.mergeFiles(files, suffix).getText(), () -> splitMerge(files, suffix));
+    }
+
+    private void compare(String name, Supplier<String> streaming, Supplier<String> split) {
+        assertThat(streaming.get()).isEqualTo(split.get());
+        Measurement before = measure(split);
+        Measurement after = measure(streaming);
+        log.info("{}: split {} µs / {} KB, akış {} µs / {} KB (birleştirme başına)",
+                name, before.micros, before.kilobytes, after.micros, after.kilobytes);
+    }
+
+    private static Measurement measure(Supplier<String> merge) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) merge.get();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) sink += merge.get().length();
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertThat(sink).isPositive();
+
+        return new Measurement(nanos / 1_000 / MEASURED_ROUNDS, allocated / 1_024 / MEASURED_ROUNDS);
+    }
+
+    // RowMerger'dan önceki birleştirme (mergeTwoFiles / mergeThreeFiles); karşılaştırma için burada tutulur
+    private String splitMerge(List<String> files, String suffix) {
+        String[][] columns = new String[files.size()][];
+        int rows = Integer.MAX_VALUE;
+        for (int i = 0; i < files.size(); i++) {
+            columns[i] = loader.loadTextFile(files.get(i)).split(Constants.ROW_SEPARATOR);
+            rows = Math.min(rows, columns[i].length);
+        }
+
+        StringBuilder out = new StringBuilder();
+        for (int row = 0; row < rows; row++) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) out.append(Constants.FIELD_SEPARATOR);
+                out.append(columns[i][row].trim());
+            }
+            if (suffix != null) out.append(Constants.FIELD_SEPARATOR).append(suffix);
+            if (row < rows - 1) out.append(Constants.ROW_SEPARATOR);
+        }
+        return out.toString();
+    }
+
+    private record Measurement(long micros, long kilobytes) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.readcircle.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Abone sınırları: kimliği doğrulanmamış istemciler sınırsız emitter açamamalı
+class SessionEventBroadcasterTest {
+
+    private final SessionEventBroadcaster broadcaster = new SessionEventBroadcaster();
+
+    @AfterEach
+    void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribersPerSessionAreCapped() {
+        int accepted = 0;
+        while (broadcaster.subscribe("oturum1") != null) {
+            accepted++;
+            assertThat(accepted).isLessThanOrEqualTo(10_000);
+        }
+
+        assertThat(accepted).isEqualTo(500);
+        assertThat(broadcaster.subscriberCount("oturum1")).isEqualTo(500);
+        // Başka bir oturum kendi sınırına kadar abone alabilir
+        assertThat(broadcaster.subscribe("oturum2")).isNotNull();
+    }
+
+    @Test
+    void subscribersAreCappedInTotal() {
+        int accepted = 0;
+        for (int code = 0; broadcaster.subscribe("oturum" + (code / 500)) != null; code++) {
+            accepted++;
+        }
+
+        assertThat(accepted).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,159 @@
+package com.readcircle.service;
+
+import com.readcircle.dto.ProgressCounters;
+import com.readcircle.dto.ResourceProgress;
+import com.readcircle.model.Assignment;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.model.ResourceDistribution;
+import com.readcircle.repository.AssignmentRepository;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceDistributionRepository;
+import com.readcircle.repository.ResourceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// session_progress sayaçları farkla güncellenir; her değişiklikten sonra parça tablosundan baştan hesaplanan
+// toplamlarla (computeProgress) aynı kalmalı, kayma olursa dilimli kontrol düzeltmeli
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SessionProgressServiceTest {
+
+    @Autowired
+    private SessionProgressService progressService;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ResourceDistributionRepository distributionRepository;
+    @Autowired
+    private DistributionSessionRepository sessionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countersFollowEveryChange() {
+        DistributionSession session = createSession();
+        Map<Integer, Long> cevsen = cevsenParts(session);
+        ResourceDistribution yasin = distributionRepository.findBySession_Id(session.getId()).get(0);
+        assertCountersMatchRows(session, "kuruluş");
+
+        distributionService.claimAssignment(cevsen.get(1), "ali");
+        distributionService.claimAssignment(cevsen.get(2), "ali");
+        Assignment virtualTake = distributionService.claimAssignment(yasin.virtualId(1), "ali");
+        distributionService.claimAssignment(yasin.virtualId(2), "veli");
+        distributionService.claimAssignment(cevsen.get(3), "veli");
+        assertCountersMatchRows(session, "alma");
+
+        distributionService.completeAssignment(cevsen.get(1), "ali");
+        distributionService.completeAssignment(virtualTake.getId(), "ali");
+        assertCountersMatchRows(session, "tamamlama");
+
+        distributionService.cancelAssignment(cevsen.get(3), "veli");
+        assertCountersMatchRows(session, "bırakma");
+
+        // Ayrılan kullanıcının tamamladıkları da dahil tüm parçaları serbest kalır
+        distributionService.leaveSession(session.getCode(), "ali");
+        assertCountersMatchRows(session, "ayrılma");
+        long revisionBeforeNoop = sessionRepository.findRevisionByCode(session.getCode());
+        distributionService.leaveSession(session.getCode(), "kimse");
+        assertCountersMatchRows(session, "parçası olmayanın ayrılması");
+        // Serbest kalan parça yoksa revizyon artmaz; istemci önbellekleri geçerli kalır
+        assertThat(sessionRepository.findRevisionByCode(session.getCode())).isEqualTo(revisionBeforeNoop);
+
+        distributionService.claimAssignment(cevsen.get(4), "veli");
+        distributionService.completeAssignment(cevsen.get(4), "veli");
+        distributionService.resetSession(session.getCode(), "olusturan");
+        assertCountersMatchRows(session, "sıfırlama");
+        assertThat(counters(session)).allMatch(c -> c.getTakenParts() == 0 && c.getCompletedParts() == 0);
+    }
+
+    @Test
+    void applyChangeAddsDifferenceAndCheckRepairsDriftAcrossSlices() {
+        // Kontrol dilim dilim ilerler; kayma hem ilk hem sonraki dilimlerdeki oturumlarda düzelmeli
+        List<DistributionSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 45; i++) sessions.add(createSession());
+        DistributionSession first = sessions.get(0);
+        DistributionSession last = sessions.get(sessions.size() - 1);
+        distributionService.claimAssignment(cevsenParts(last).get(1), "ali");
+
+        Long resourceId = cevsenId();
+        long takenBefore = counter(first, resourceId).getTakenParts();
+        drift(first, resourceId);
+        drift(last, resourceId);
+        assertThat(counter(first, resourceId).getTakenParts()).isEqualTo(takenBefore + 3);
+        assertThat(counter(first, resourceId).getCompletedUnits()).isEqualTo(7);
+
+        progressService.checkConsistency();
+
+        assertCountersMatchRows(first, "ilk dilim");
+        assertCountersMatchRows(last, "son dilim");
+    }
+
+    // Parça tablosuna dokunmadan sayaçlara fark ekler (kayma)
+    private void drift(DistributionSession session, Long resourceId) {
+        ResourceProgress before = new ResourceProgress(resourceId, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+        ResourceProgress after = new ResourceProgress(resourceId, 0L, 3L, 0L, 0L, 0L, 7L, 0L, 0L);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                progressService.applyChange(session.getId(), Map.of(resourceId, before), Map.of(resourceId, after)));
+    }
+
+    private DistributionSession createSession() {
+        return distributionService.createDistribution(List.of(cevsenId(), yasinId()), 6, null, "olusturan", null);
+    }
+
+    private Long cevsenId() {
+        return resourceRepository.findByCodeKey("CEVSEN").getId();
+    }
+
+    private Long yasinId() {
+        return resourceRepository.findByCodeKey("YASIN").getId();
+    }
+
+    private Map<Integer, Long> cevsenParts(DistributionSession session) {
+        Map<Integer, Long> parts = new TreeMap<>();
+        for (Assignment a : assignmentRepository.findBySession_Id(session.getId())) {
+            if (a.getResource().getId().equals(cevsenId())) parts.putIfAbsent(a.getParticipantNumber(), a.getId());
+        }
+        return parts;
+    }
+
+    private List<ProgressCounters> counters(DistributionSession session) {
+        return progressService.getCounters(List.of(session.getCode())).get(session.getCode());
+    }
+
+    private ProgressCounters counter(DistributionSession session, Long resourceId) {
+        return counters(session).stream().filter(c -> c.getResourceId().equals(resourceId)).findFirst().orElseThrow();
+    }
+
+    private void assertCountersMatchRows(DistributionSession session, String step) {
+        Map<Long, ResourceProgress> expected = progressService.computeProgress(session.getId());
+        Map<Long, ProgressCounters> actual = new HashMap<>();
+        counters(session).forEach(c -> actual.put(c.getResourceId(), c));
+        assertThat(actual.keySet()).as(step).isEqualTo(expected.keySet());
+        expected.forEach((resourceId, e) -> {
+            ProgressCounters c = actual.get(resourceId);
+            String what = step + ", kaynak " + resourceId;
+            assertThat(c.getParts()).as(what).isEqualTo(e.getParts());
+            assertThat(c.getTakenParts()).as(what).isEqualTo(e.getTakenParts());
+            assertThat(c.getCompletedParts()).as(what).isEqualTo(e.getCompletedParts());
+            assertThat(c.getUnits()).as(what).isEqualTo(e.getUnits());
+            assertThat(c.getTakenUnits()).as(what).isEqualTo(e.getTakenUnits());
+            assertThat(c.getCompletedUnits()).as(what).isEqualTo(e.getCompletedUnits());
+        });
+    }
+}
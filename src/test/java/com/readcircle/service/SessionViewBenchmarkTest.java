@@ -0,0 +1,94 @@
+package com.readcircle.service;
+
+import com.readcircle.event.CacheInvalidationEvent;
+import com.readcircle.model.DistributionSession;
+import com.readcircle.repository.DistributionSessionRepository;
+import com.readcircle.repository.ResourceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GET /get/{code}?lang= cevabının istek başına maliyeti (süre ve ayrılan bellek). Karşılaştırılan iki yol:
+//  - her istekte yeniden kurulum: parçalar veritabanından okunur, görüntü kurulur ve yazılır (önbellek öncesi)
+//  - önbellekteki anlık görüntü: yalnızca JSON yazılır
+// HTTP katmanı ölçüme girmez. Normal test turunda çalışmaz:
+//   mvn -B test -Dtest=SessionViewBenchmarkTest -Dbenchmark=true
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SessionViewBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionViewBenchmarkTest.class);
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+
+    @Autowired
+    private SessionViewService sessionViewService;
+    @Autowired
+    private DistributionService distributionService;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private DistributionSessionRepository sessionRepository;
+
+    @Test
+    void snapshotCostPerRequest() throws IOException {
+        Long quranId = resourceRepository.findByCodeKey("QURAN").getId();
+        Long yasinId = resourceRepository.findByCodeKey("YASIN").getId();
+        // Kuran parçaları gerçek satırdır, Yasin parçaları sanal; ikisi birlikte görüntüye girer
+        DistributionSession session = distributionService.createDistribution(
+                List.of(quranId, yasinId), 1_000, Map.of(quranId, 10), "olcum", null);
+        String code = session.getCode();
+        long revision = sessionRepository.findRevisionByCode(code);
+        SessionSnapshot snapshot = sessionViewService.getSnapshot(code, revision);
+
+        byte[] rebuiltBody = write(code, revision, true);
+        assertThat(write(code, revision, false)).isEqualTo(rebuiltBody);
+
+        Measurement rebuilt = measure(code, revision, true);
+        Measurement cached = measure(code, revision, false);
+        log.info("{} parça, {} KB cevap: her istekte kurulum {} µs / {} KB, önbellek {} µs / {} KB (istek başına)",
+                snapshot.size(), rebuiltBody.length / 1_024,
+                rebuilt.micros, rebuilt.kilobytes, cached.micros, cached.kilobytes);
+    }
+
+    private Measurement measure(String code, long revision, boolean rebuild) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) write(code, revision, rebuild);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) sink += write(code, revision, rebuild).length;
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertThat(sink).isPositive();
+
+        return new Measurement(nanos / 1_000 / MEASURED_ROUNDS, allocated / 1_024 / MEASURED_ROUNDS);
+    }
+
+    private byte[] write(String code, long revision, boolean rebuild) throws IOException {
+        if (rebuild) sessionViewService.onCacheInvalidation(CacheInvalidationEvent.session(code, revision));
+        SessionSnapshot snapshot = sessionViewService.getSnapshot(code, revision);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        sessionViewService.writeSessionView(snapshot, "tr", out);
+        return out.toByteArray();
+    }
+
+    private record Measurement(long micros, long kilobytes) {
+    }
+}